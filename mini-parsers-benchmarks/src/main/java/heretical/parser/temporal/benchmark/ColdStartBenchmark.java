@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.BaseTemporalExpressionParser;
+import heretical.parser.temporal.ColdStartTimings;
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.DurationParser;
+import heretical.parser.temporal.ISODurationParser;
+import heretical.parser.temporal.NaturalDurationParser;
+import heretical.parser.temporal.RelativeDateTimeAdjusterParser;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time to first parse of each parser in a fresh JVM, as a short lived batch job would see it.
+ * <p>
+ * Parboiled caches the generated parser classes in the class loader, so only the first invocation in each
+ * fork is cold, hence a single shot per fork. The split between parser creation, grammar construction, and the
+ * first run is reported as secondary results, in milliseconds, from
+ * {@link BaseTemporalExpressionParser#getColdStartTimings()}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class ColdStartBenchmark
+  {
+  public enum Parsers
+    {
+      absolute( AbsoluteDateTimeParser::new, "2015-02-10T02:04:30+00:00" ),
+      duration( DurationParser::new, "10 days" ),
+      naturalDuration( NaturalDurationParser::new, "10,000 seconds" ),
+      isoDuration( ISODurationParser::new, "PT20.345S" ),
+      relativeAdjuster( RelativeDateTimeAdjusterParser::new, "-120m@s" );
+
+    private final Function<Context, BaseTemporalExpressionParser<?, ?, ?>> factory;
+    private final String sample;
+
+    Parsers( Function<Context, BaseTemporalExpressionParser<?, ?, ?>> factory, String sample )
+      {
+      this.factory = factory;
+      this.sample = sample;
+      }
+    }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Phases
+    {
+    public double createParserMillis;
+    public double grammarMillis;
+    public double firstRunMillis;
+
+    @Setup(Level.Iteration)
+    public void reset()
+      {
+      createParserMillis = 0;
+      grammarMillis = 0;
+      firstRunMillis = 0;
+      }
+
+    void record( ColdStartTimings timings )
+      {
+      createParserMillis = toMillis( timings.getCreateParserNanos() );
+      grammarMillis = toMillis( timings.getGrammarNanos() );
+      firstRunMillis = toMillis( timings.getFirstRunNanos() );
+      }
+
+    private static double toMillis( long nanos )
+      {
+      return nanos == -1 ? 0 : nanos / 1_000_000.0;
+      }
+    }
+
+  @Param
+  public Parsers parser;
+
+  @Benchmark
+  public Object firstParse( Phases phases )
+    {
+    BaseTemporalExpressionParser<?, ?, ?> instance = parser.factory.apply( Contexts.fixed() );
+
+    Object result = instance.parse( parser.sample ).getResult();
+
+    phases.record( instance.getColdStartTimings() );
+
+    return result;
+    }
+  }
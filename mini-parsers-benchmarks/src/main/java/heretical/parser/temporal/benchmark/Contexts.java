@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.benchmark;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Locale;
+
+import heretical.parser.temporal.Context;
+
+/**
+ *
+ */
+public class Contexts
+  {
+  public static final String NOW = "2015-02-10T02:04:30Z";
+
+  /**
+   * @return a Context with a fixed clock so relative values are stable across runs
+   */
+  public static Context fixed()
+    {
+    return new Context( Clock.fixed( Instant.parse( NOW ), ZoneOffset.UTC ), Locale.US );
+    }
+  }
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.TemporalResult;
+import heretical.parser.temporal.expression.DateTimeExp;
+import heretical.parser.temporal.format.DateTimeFormats;
+import heretical.parser.temporal.util.FormatSamples;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the {@link AbsoluteDateTimeParser} against a sample of every {@link DateTimeFormats.DateTimeParser}.
+ * <p>
+ * The grammar tries each format in turn, so formats late in the pattern order pay for every format before them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateTimeFormatBenchmark
+  {
+  @Param
+  public DateTimeFormats.DateTimeParser format;
+
+  private AbsoluteDateTimeParser parser;
+  private String value;
+  private char[] line;
+  private byte[] bytes;
+
+  @Setup
+  public void setup()
+    {
+    parser = new AbsoluteDateTimeParser( Contexts.fixed() );
+    value = FormatSamples.sample( format );
+    line = ( "INFO " + value + " request complete" ).toCharArray();
+    bytes = new String( line ).getBytes( StandardCharsets.UTF_8 );
+
+    parser.parseOrFail( value ); // fail early if the sample no longer matches
+    }
+
+  @Benchmark
+  public TemporalResult<DateTimeExp, Instant> parse()
+    {
+    return parser.parse( value );
+    }
+
+  /**
+   * Parses the sample in place from a larger line, as a log reader holding a reusable buffer would.
+   */
+  @Benchmark
+  public TemporalResult<DateTimeExp, Instant> parseSlice()
+    {
+    return parser.parse( line, 5, value.length() );
+    }
+
+  /**
+   * Parses the sample in place from the UTF-8 bytes of a larger line, as a record payload would hold it.
+   */
+  @Benchmark
+  public TemporalResult<DateTimeExp, Instant> parseBytes()
+    {
+    return parser.parse( bytes, 5, value.length() );
+    }
+
+  /**
+   * Some formats match the grammar but fail conversion, those failures are measured as is.
+   */
+  @Benchmark
+  public void parseAndConvert( Blackhole blackhole )
+    {
+    try
+      {
+      blackhole.consume( parser.parse( value ).getResult() );
+      }
+    catch( RuntimeException exception )
+      {
+      blackhole.consume( exception );
+      }
+    }
+  }
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.benchmark;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.BaseTemporalExpressionParser;
+import heretical.parser.temporal.DateTimeParser;
+import heretical.parser.temporal.DurationParser;
+import heretical.parser.temporal.RelativeDateTimeAdjusterParser;
+import heretical.parser.temporal.TemporalResult;
+import heretical.parser.temporal.expression.AdjusterExp;
+import heretical.parser.temporal.expression.DateTimeExp;
+import heretical.parser.temporal.expression.DurationExp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the grammar match alone, without conversion, of each grammar variant a parser may be configured with.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GrammarVariantBenchmark
+  {
+  public enum Variant
+    {
+      standard,
+      lean
+        {
+        @Override
+        void apply( BaseTemporalExpressionParser<?, ?, ?> parser )
+          {
+          parser.setLeanGrammar( true );
+          }
+        },
+      packrat
+        {
+        @Override
+        void apply( BaseTemporalExpressionParser<?, ?, ?> parser )
+          {
+          if( parser instanceof DateTimeParser )
+            ( (DateTimeParser) parser ).setPackratFormats( true );
+          }
+        },
+      leanPackrat
+        {
+        @Override
+        void apply( BaseTemporalExpressionParser<?, ?, ?> parser )
+          {
+          lean.apply( parser );
+          packrat.apply( parser );
+          }
+        };
+
+    void apply( BaseTemporalExpressionParser<?, ?, ?> parser )
+      {
+      }
+    }
+
+  @Param
+  public Variant variant;
+
+  private AbsoluteDateTimeParser absoluteDateTimeParser;
+  private DurationParser durationParser;
+  private RelativeDateTimeAdjusterParser relativeDateTimeAdjusterParser;
+
+  @Setup
+  public void setup()
+    {
+    absoluteDateTimeParser = new AbsoluteDateTimeParser( Contexts.fixed() );
+    durationParser = new DurationParser( Contexts.fixed() );
+    relativeDateTimeAdjusterParser = new RelativeDateTimeAdjusterParser( Contexts.fixed() );
+
+    variant.apply( absoluteDateTimeParser );
+    variant.apply( durationParser );
+    variant.apply( relativeDateTimeAdjusterParser );
+    }
+
+  @Benchmark
+  public TemporalResult<DateTimeExp, Instant> absoluteISO()
+    {
+    return absoluteDateTimeParser.parse( "2015-02-10T02:04:30+00:00" );
+    }
+
+  @Benchmark
+  public TemporalResult<DateTimeExp, Instant> absoluteLong()
+    {
+    return absoluteDateTimeParser.parse( "February 10th 2015, 02:04:30.345" );
+    }
+
+  /**
+   * Matches one of the last formats sharing the yyyy-MM-dd prefix, after the prefix matched for every format before it.
+   */
+  @Benchmark
+  public TemporalResult<DateTimeExp, Instant> absoluteSharedPrefix()
+    {
+    return absoluteDateTimeParser.parse( "2015-02-10 02:04" );
+    }
+
+  /**
+   * Fails on the last char, after every format was tried, the worst case for backtracking.
+   */
+  @Benchmark
+  public TemporalResult<DateTimeExp, Instant> absoluteMismatch()
+    {
+    return absoluteDateTimeParser.parse( "2015-02-10T02:04:30.345+0X" );
+    }
+
+  @Benchmark
+  public TemporalResult<DurationExp, Duration> durationNatural()
+    {
+    return durationParser.parse( "10 days" );
+    }
+
+  @Benchmark
+  public TemporalResult<AdjusterExp, Instant> relativeAdjusterSnap()
+    {
+    return relativeDateTimeAdjusterParser.parse( "-1d@w1+2h" );
+    }
+  }
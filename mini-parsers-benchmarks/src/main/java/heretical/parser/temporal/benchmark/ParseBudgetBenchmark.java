@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package heretical.parser.temporal.benchmark;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import heretical.parser.common.ParseBudget;
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.TemporalResult;
+import heretical.parser.temporal.expression.DateTimeExp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of a per parse step budget on ordinary values, and the work it saves on pathological ones.
+ * <p>
+ * Every format sample takes fewer than 1,000 matcher steps, a long digit run takes several times that before failing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBudgetBenchmark
+  {
+  public enum Budget
+    {
+      unbounded( null ),
+      steps1000( ParseBudget.ofSteps( 1_000 ) );
+
+    final ParseBudget budget;
+
+    Budget( ParseBudget budget )
+      {
+      this.budget = budget;
+      }
+    }
+
+  private static final String DIGIT_RUN = "1".repeat( 4_000 ) + "x";
+
+  @Param
+  public Budget budget;
+
+  private AbsoluteDateTimeParser absoluteDateTimeParser;
+
+  @Setup
+  public void setup()
+    {
+    absoluteDateTimeParser = new AbsoluteDateTimeParser( Contexts.fixed() );
+
+    absoluteDateTimeParser.setParseBudget( budget.budget );
+    }
+
+  @Benchmark
+  public TemporalResult<DateTimeExp, Instant> absoluteISO()
+    {
+    return absoluteDateTimeParser.parse( "2015-02-10T02:04:30+00:00" );
+    }
+
+  @Benchmark
+  public TemporalResult<DateTimeExp, Instant> absoluteNotADate()
+    {
+    return absoluteDateTimeParser.parse( "N/A" );
+    }
+
+  @Benchmark
+  public TemporalResult<DateTimeExp, Instant> absoluteDigitRun()
+    {
+    return absoluteDateTimeParser.parse( DIGIT_RUN );
+    }
+  }
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package heretical.parser.temporal.benchmark;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.TemporalResult;
+import heretical.parser.temporal.expression.DateTimeExp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of the input prefilter on a valid value, and the work it saves on values that are not dates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrefilterBenchmark
+  {
+  @Param({"false", "true"})
+  public boolean prefilter;
+
+  private AbsoluteDateTimeParser absoluteDateTimeParser;
+
+  @Setup
+  public void setup()
+    {
+    absoluteDateTimeParser = new AbsoluteDateTimeParser( Contexts.fixed() );
+
+    absoluteDateTimeParser.setPrefilter( prefilter );
+    }
+
+  @Benchmark
+  public TemporalResult<DateTimeExp, Instant> absoluteISO()
+    {
+    return absoluteDateTimeParser.parse( "2015-02-10T02:04:30+00:00" );
+    }
+
+  @Benchmark
+  public TemporalResult<DateTimeExp, Instant> absoluteNotApplicable()
+    {
+    return absoluteDateTimeParser.parse( "N/A" );
+    }
+
+  @Benchmark
+  public TemporalResult<DateTimeExp, Instant> absoluteFreeText()
+    {
+    return absoluteDateTimeParser.parse( "customer requested a callback" );
+    }
+  }
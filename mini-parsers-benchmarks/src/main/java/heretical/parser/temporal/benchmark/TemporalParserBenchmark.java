@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.benchmark;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.DurationParser;
+import heretical.parser.temporal.ISODurationParser;
+import heretical.parser.temporal.NaturalDurationParser;
+import heretical.parser.temporal.RelativeDateTimeAdjusterParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a full parse and conversion through each of the public temporal parsers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemporalParserBenchmark
+  {
+  private AbsoluteDateTimeParser absoluteDateTimeParser;
+  private DurationParser durationParser;
+  private NaturalDurationParser naturalDurationParser;
+  private ISODurationParser isoDurationParser;
+  private RelativeDateTimeAdjusterParser relativeDateTimeAdjusterParser;
+
+  @Setup
+  public void setup()
+    {
+    Context context = Contexts.fixed();
+
+    absoluteDateTimeParser = new AbsoluteDateTimeParser( context );
+    durationParser = new DurationParser( context );
+    naturalDurationParser = new NaturalDurationParser( context );
+    isoDurationParser = new ISODurationParser( context );
+    relativeDateTimeAdjusterParser = new RelativeDateTimeAdjusterParser( context );
+    }
+
+  @Benchmark
+  public Instant absoluteISO()
+    {
+    return absoluteDateTimeParser.parse( "2015-02-10T02:04:30+00:00" ).getResult();
+    }
+
+  @Benchmark
+  public Instant absoluteMillis()
+    {
+    return absoluteDateTimeParser.parse( "1423533870345" ).getResult();
+    }
+
+  @Benchmark
+  public Instant absoluteLong()
+    {
+    return absoluteDateTimeParser.parse( "February 10th 2015, 02:04:30.345" ).getResult();
+    }
+
+  @Benchmark
+  public long absoluteISOEpochMillis()
+    {
+    return absoluteDateTimeParser.parseToEpochMillis( "2015-02-10T02:04:30+00:00" );
+    }
+
+  @Benchmark
+  public long absoluteLongEpochMillis()
+    {
+    return absoluteDateTimeParser.parseToEpochMillis( "February 10th 2015, 02:04:30.345" );
+    }
+
+  @Benchmark
+  public Duration durationNatural()
+    {
+    return durationParser.parse( "10 days" ).getResult();
+    }
+
+  @Benchmark
+  public long durationNaturalNanos()
+    {
+    return durationParser.parseToNanos( "10 days" );
+    }
+
+  @Benchmark
+  public Duration durationISO()
+    {
+    return durationParser.parse( "PT20.345S" ).getResult();
+    }
+
+  @Benchmark
+  public Duration naturalDuration()
+    {
+    return naturalDurationParser.parse( "10,000 seconds" ).getResult();
+    }
+
+  @Benchmark
+  public Duration isoDuration()
+    {
+    return isoDurationParser.parse( "PT20.345S" ).getResult();
+    }
+
+  @Benchmark
+  public Instant relativeAdjuster()
+    {
+    return relativeDateTimeAdjusterParser.parse( "-120m@s" ).getResult();
+    }
+
+  @Benchmark
+  public Instant relativeAdjusterSnap()
+    {
+    return relativeDateTimeAdjusterParser.parse( "-1d@w1+2h" ).getResult();
+    }
+
+  @Benchmark
+  public long relativeAdjusterEpochMillis()
+    {
+    return relativeDateTimeAdjusterParser.parseToEpochMillis( "-120m@s" );
+    }
+
+  @Benchmark
+  public long relativeAdjusterSnapEpochMillis()
+    {
+    return relativeDateTimeAdjusterParser.parseToEpochMillis( "-1d@w1+2h" );
+    }
+  }
@@ -13,16 +13,26 @@ import java.util.List;
 
 import heretical.parser.common.util.IntegerVar;
 import org.parboiled.BaseParser;
+import org.parboiled.Context;
 import org.parboiled.Rule;
 import org.parboiled.annotations.DontLabel;
 import org.parboiled.annotations.SuppressNode;
-import org.parboiled.support.StringVar;
+import org.parboiled.support.Var;
 
 /**
- *
+ * The base of all grammars.
+ * <p>
+ * A grammar instance, and the rules it builds, may be shared across threads. Parboiled sets the current context on
+ * the grammar before every action helper call, so the context is kept per thread, and rules must declare their
+ * variables with {@link heretical.parser.common.util.ThreadLocalVar} or one of its subclasses.
+ * <p>
+ * Only the action helpers overridden here read the per thread context, others are not safe to call from actions
+ * when the grammar is shared.
  */
 public class BaseSyntaxGrammar<Node> extends BaseParser<Node>
   {
+  private final ThreadLocal<Context<Node>> context = new ThreadLocal<>();
+
   protected final Rule AT = Terminal( "@" );
   protected final Rule AND_CHAR = Terminal( "&", AnyOf( "=&" ) );
   protected final Rule ANDAND = Terminal( "&&" );
@@ -55,6 +65,50 @@ public class BaseSyntaxGrammar<Node> extends BaseParser<Node>
   protected final Rule SEMI = Terminal( ";" );
   protected final Rule TILDA = Terminal( "~" );
 
+  @Override
+  public Context<Node> getContext()
+    {
+    return context.get();
+    }
+
+  @Override
+  public void setContext( Context<Node> context )
+    {
+    this.context.set( context );
+    }
+
+  @Override
+  public String match()
+    {
+    return getContext().getMatch();
+    }
+
+  @Override
+  public int currentIndex()
+    {
+    return getContext().getCurrentIndex();
+    }
+
+  @Override
+  public boolean push( Node value )
+    {
+    getContext().getValueStack().push( value );
+
+    return true;
+    }
+
+  @Override
+  public Node pop()
+    {
+    return getContext().getValueStack().pop();
+    }
+
+  @Override
+  public Node peek()
+    {
+    return getContext().getValueStack().peek();
+    }
+
   @SuppressNode
   public Rule[] IgnoreCase( String[] literals )
     {
@@ -110,7 +164,17 @@ public class BaseSyntaxGrammar<Node> extends BaseParser<Node>
     ) );
     }
 
-  protected Rule ListItem( StringVar term )
+  /**
+   * A {@link #Spacing()} rule that only matches whitespace, skipping the comment alternatives, for grammars whose
+   * input never holds comments. Subclasses select it by overriding Spacing() to return it.
+   */
+  @SuppressNode
+  protected Rule LeanSpacing()
+    {
+    return ZeroOrMore( AnyOf( " \t\r\n\f" ).label( "Whitespace" ) );
+    }
+
+  protected Rule ListItem( Var<String> term )
     {
     return Sequence(
       OneOrMore(
@@ -124,7 +188,7 @@ public class BaseSyntaxGrammar<Node> extends BaseParser<Node>
     );
     }
 
-  protected Rule NotListItem( StringVar term )
+  protected Rule NotListItem( Var<String> term )
     {
     return Sequence(
       OneOrMore(
@@ -138,7 +202,7 @@ public class BaseSyntaxGrammar<Node> extends BaseParser<Node>
     );
     }
 
-  protected Rule Term( StringVar term )
+  protected Rule Term( Var<String> term )
     {
     return Sequence(
       OneOrMore(
@@ -168,13 +232,13 @@ public class BaseSyntaxGrammar<Node> extends BaseParser<Node>
 
   @SuppressNode
   @DontLabel
-  protected Rule Keyword( String lhs, IntegerVar ordinal, Rule rhs, StringVar unit )
+  protected Rule Keyword( String lhs, IntegerVar ordinal, Rule rhs, Var<String> unit )
     {
     return
       Sequence(
         IgnoreCase( lhs ),
         Spacing(),
-        Optional( Number(), ordinal.set( match() ), Spacing() ),
+        Optional( Number(), ordinal.set( getContext() ), Spacing() ),
         rhs,
         unit.set( match().trim() )
       );
@@ -182,11 +246,11 @@ public class BaseSyntaxGrammar<Node> extends BaseParser<Node>
 
   @SuppressNode
   @DontLabel
-  protected Rule Keyword( IntegerVar ordinal, Rule lhs, StringVar unit, String rhs )
+  protected Rule Keyword( IntegerVar ordinal, Rule lhs, Var<String> unit, String rhs )
     {
     return
       Sequence(
-        Optional( Number(), ordinal.set( match() ) ),
+        Optional( Number(), ordinal.set( getContext() ) ),
         Spacing(),
         lhs,
         unit.set( match().trim() ),
@@ -197,7 +261,7 @@ public class BaseSyntaxGrammar<Node> extends BaseParser<Node>
 
   @SuppressNode
   @DontLabel
-  protected Rule Keyword( String lhs, Rule rhs, StringVar unit )
+  protected Rule Keyword( String lhs, Rule rhs, Var<String> unit )
     {
     return
       Sequence(
@@ -255,7 +319,7 @@ public class BaseSyntaxGrammar<Node> extends BaseParser<Node>
     );
     }
 
-  protected Rule StringLiteral( StringVar term )
+  protected Rule StringLiteral( Var<String> term )
     {
     return Sequence(
       '"',
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package heretical.parser.common;
+
+import org.parboiled.MatchHandler;
+import org.parboiled.MatcherContext;
+import org.parboiled.Rule;
+import org.parboiled.buffers.InputBuffer;
+import org.parboiled.parserunners.ReportingParseRunner;
+import org.parboiled.support.ParsingResult;
+
+/**
+ * A {@link ReportingParseRunner} whose basic match gives up as soon as it exceeds a {@link ParseBudget}, the failed
+ * result then holds a single {@link ParseBudgetExceededError} and the error locating and reporting runs are skipped.
+ * <p>
+ * Giving up fails every remaining matcher without running it, so the match unwinds normally and every rule variable
+ * leaves the frames it entered.
+ * <p>
+ * Only the basic match is bounded, the locating and reporting runs following a failure within budget each repeat
+ * about the same work once more, unless fast failing, see {@link FastFailParseRunner}.
+ * <p>
+ * Subclasses may observe every matcher invocation of the basic match by overriding {@link #matchStep(MatcherContext)}.
+ */
+public class BudgetedParseRunner<V> extends ReportingParseRunner<V> implements MatchHandler
+  {
+  // the clock is only read every 64 steps
+  private static final int CLOCK_MASK = 63;
+
+  private final boolean fastFail;
+  private final long maxSteps;
+  private final long maxNanos;
+
+  private long steps;
+  private long startNanos;
+  private long exceededNanos = -1;
+  private int exceededIndex;
+
+  public BudgetedParseRunner( Rule rule, ParseBudget budget )
+    {
+    this( rule, budget, false );
+    }
+
+  public BudgetedParseRunner( Rule rule, ParseBudget budget, boolean fastFail )
+    {
+    super( rule );
+    this.fastFail = fastFail;
+    this.maxSteps = budget.getMaxSteps() == 0 ? Long.MAX_VALUE : budget.getMaxSteps();
+    this.maxNanos = budget.getMaxNanos();
+    }
+
+  @Override
+  public ParsingResult<V> run( InputBuffer inputBuffer )
+    {
+    resetValueStack();
+
+    ParsingResult<V> result = runBasicMatch( inputBuffer );
+
+    if( result.matched || fastFail || exceededNanos != -1 )
+      return result;
+
+    // same as ReportingParseRunner, locate the error then report it
+    resetValueStack();
+
+    result = runLocatingMatch( inputBuffer );
+
+    resetValueStack();
+
+    return runReportingMatch( inputBuffer, result.parseErrors.get( 0 ).getStartIndex() );
+    }
+
+  @Override
+  protected ParsingResult<V> runBasicMatch( InputBuffer inputBuffer )
+    {
+    steps = 0;
+    exceededNanos = -1;
+    startNanos = System.nanoTime();
+
+    MatcherContext<V> rootContext = createRootContext( inputBuffer, this, true );
+    boolean matched = rootContext.runMatcher();
+
+    if( exceededNanos == -1 )
+      return createParsingResult( matched, rootContext );
+
+    // drop any values pushed before giving up, an optional tail may even have let the root match
+    resetValueStack();
+
+    getParseErrors().add( new ParseBudgetExceededError( inputBuffer, exceededIndex, steps, exceededNanos ) );
+
+    return new ParsingResult<>( false, null, getValueStack(), getParseErrors(), inputBuffer );
+    }
+
+  @Override
+  public boolean match( MatcherContext<?> context )
+    {
+    if( exceededNanos != -1 )
+      return false;
+
+    long step = ++steps;
+
+    if( step > maxSteps || maxNanos != 0 && ( step & CLOCK_MASK ) == 0 && System.nanoTime() - startNanos > maxNanos )
+      {
+      exceededNanos = System.nanoTime() - startNanos;
+      exceededIndex = context.getCurrentIndex();
+
+      return false;
+      }
+
+    return matchStep( context );
+    }
+
+  /**
+   * Runs the matcher of the given context, called for every matcher invocation of the basic match within budget.
+   */
+  protected boolean matchStep( MatcherContext<?> context )
+    {
+    return context.getMatcher().match( context );
+    }
+  }
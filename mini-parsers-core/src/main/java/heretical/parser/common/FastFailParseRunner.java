@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.common;
+
+import org.parboiled.Rule;
+import org.parboiled.buffers.InputBuffer;
+import org.parboiled.parserunners.ReportingParseRunner;
+import org.parboiled.support.ParsingResult;
+
+/**
+ * A {@link ReportingParseRunner} that only runs the basic match, a failed match is returned without any
+ * parse errors instead of re-running the input to locate and report them.
+ * <p>
+ * Subclasses may still override {@link #runBasicMatch(InputBuffer)}. Errors can be reported later by handing
+ * a {@link ReportingParseRunner} run to {@link Result#Result(ParsingResult, long, java.util.concurrent.TimeUnit, java.util.function.Supplier)}.
+ */
+public class FastFailParseRunner<V> extends ReportingParseRunner<V>
+  {
+  public FastFailParseRunner( Rule rule )
+    {
+    super( rule );
+    }
+
+  @Override
+  public ParsingResult<V> run( InputBuffer inputBuffer )
+    {
+    resetValueStack();
+
+    return runBasicMatch( inputBuffer );
+    }
+  }
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package heretical.parser.common;
+
+import java.time.Duration;
+
+/**
+ * The most work a single parse may do, in matcher steps, elapsed time, or both, see {@link BudgetedParseRunner}.
+ * <p>
+ * A step is a single matcher invocation, so a step budget bounds the work of a parse independently of the
+ * machine or load, an elapsed time budget also bounds stalls, but is only checked every few steps.
+ */
+public final class ParseBudget
+  {
+  public static final ParseBudget UNLIMITED = new ParseBudget( 0, 0 );
+
+  private final long maxSteps;
+  private final long maxNanos;
+
+  public static ParseBudget ofSteps( long maxSteps )
+    {
+    return new ParseBudget( maxSteps, 0 );
+    }
+
+  public static ParseBudget ofTime( Duration maxTime )
+    {
+    return new ParseBudget( 0, maxTime.toNanos() );
+    }
+
+  /**
+   * @param maxSteps the most matcher invocations, or {@code 0} for no limit
+   * @param maxNanos the most elapsed nanoseconds, or {@code 0} for no limit
+   */
+  public ParseBudget( long maxSteps, long maxNanos )
+    {
+    if( maxSteps < 0 )
+      throw new IllegalArgumentException( "maxSteps may not be negative, got: " + maxSteps );
+
+    if( maxNanos < 0 )
+      throw new IllegalArgumentException( "maxNanos may not be negative, got: " + maxNanos );
+
+    this.maxSteps = maxSteps;
+    this.maxNanos = maxNanos;
+    }
+
+  /**
+   * @return the most matcher invocations, or {@code 0} for no limit
+   */
+  public long getMaxSteps()
+    {
+    return maxSteps;
+    }
+
+  /**
+   * @return the most elapsed nanoseconds, or {@code 0} for no limit
+   */
+  public long getMaxNanos()
+    {
+    return maxNanos;
+    }
+
+  public boolean isUnlimited()
+    {
+    return maxSteps == 0 && maxNanos == 0;
+    }
+
+  @Override
+  public String toString()
+    {
+    return "ParseBudget{" +
+      "maxSteps=" + maxSteps +
+      ", maxNanos=" + maxNanos +
+      '}';
+    }
+  }
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package heretical.parser.common;
+
+import org.parboiled.buffers.InputBuffer;
+import org.parboiled.errors.BasicParseError;
+
+/**
+ * The only error of a parse that gave up once it exceeded its {@link ParseBudget}, the input may or may not be valid.
+ */
+public class ParseBudgetExceededError extends BasicParseError
+  {
+  private final long steps;
+  private final long elapsedNanos;
+
+  public ParseBudgetExceededError( InputBuffer inputBuffer, int index, long steps, long elapsedNanos )
+    {
+    super( inputBuffer, index, "parse budget exceeded after " + steps + " steps and " + elapsedNanos + "ns" );
+    this.steps = steps;
+    this.elapsedNanos = elapsedNanos;
+    }
+
+  /**
+   * @return the matcher invocations made before the parse gave up
+   */
+  public long getSteps()
+    {
+    return steps;
+    }
+
+  /**
+   * @return the nanoseconds elapsed before the parse gave up
+   */
+  public long getElapsedNanos()
+    {
+    return elapsedNanos;
+    }
+  }
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.common;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.parboiled.errors.ParseError;
+import org.parboiled.parserunners.AbstractParseRunner;
+import org.parboiled.support.ParsingResult;
+
+/**
+ * A bounded per thread pool of parse runners, so a runner, its value stack, and its error list are reused across
+ * runs instead of being created for every run.
+ * <p>
+ * A runner restores its value stack at the start of every run. The parse errors of a run are handed to its result
+ * by {@link #detach(ParsingResult)} so the runner starts the next run with an empty error list. Results of pooled
+ * runners share the runner value stack, only {@link ParsingResult#resultValue} is stable once the runner is reused.
+ * <p>
+ * A thread borrows a new runner if all of its pooled runners are in use, as when parsing from within a listener,
+ * and at most {@code maxPerThread} runners are kept per thread.
+ */
+public class ParseRunnerPool<V>
+  {
+  private final int maxPerThread;
+  private final Supplier<? extends AbstractParseRunner<V>> factory;
+  private final ThreadLocal<ArrayDeque<AbstractParseRunner<V>>> pool = ThreadLocal.withInitial( ArrayDeque::new );
+
+  public ParseRunnerPool( int maxPerThread, Supplier<? extends AbstractParseRunner<V>> factory )
+    {
+    if( maxPerThread < 1 )
+      throw new IllegalArgumentException( "maxPerThread must be greater than zero, got: " + maxPerThread );
+
+    this.maxPerThread = maxPerThread;
+    this.factory = factory;
+    }
+
+  public int getMaxPerThread()
+    {
+    return maxPerThread;
+    }
+
+  public AbstractParseRunner<V> borrow()
+    {
+    AbstractParseRunner<V> runner = pool.get().pollFirst();
+
+    if( runner != null )
+      return runner;
+
+    return factory.get();
+    }
+
+  /**
+   * Returns the runner to the pool of the current thread, a runner that failed with an exception should be dropped
+   * instead.
+   */
+  public void release( AbstractParseRunner<V> runner )
+    {
+    ArrayDeque<AbstractParseRunner<V>> runners = pool.get();
+
+    if( runners.size() < maxPerThread )
+      runners.addFirst( runner );
+    }
+
+  /**
+   * Moves any parse errors out of the runner error list and into a result of their own.
+   */
+  public ParsingResult<V> detach( ParsingResult<V> result )
+    {
+    List<ParseError> parseErrors = result.parseErrors;
+
+    if( parseErrors.isEmpty() )
+      return result;
+
+    List<ParseError> errors = new ArrayList<>( parseErrors );
+
+    parseErrors.clear();
+
+    return new ParsingResult<>( result.matched, result.parseTreeRoot, result.valueStack, errors, result.inputBuffer );
+    }
+  }
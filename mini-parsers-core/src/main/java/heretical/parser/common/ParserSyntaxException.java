@@ -16,29 +16,53 @@ import org.parboiled.errors.InvalidInputError;
 import org.parboiled.errors.ParseError;
 
 /**
- *
+ * Thrown on a failed parse.
+ * <p>
+ * The message and error messages of an exception created from a {@link Result} are only built when first asked for.
  */
 public class ParserSyntaxException extends RuntimeException
   {
   public static final String SEARCH_PARSE_ERROR = "parser syntax error";
   private final Result<?> result;
-  private final List<String> errorMessages;
+  private volatile String message;
+  private volatile List<String> errorMessages;
   private static final DefaultInvalidInputErrorFormatter formatter = new DefaultInvalidInputErrorFormatter();
 
   public ParserSyntaxException( Result<?> result )
     {
-    super( makeMessage( result ) );
     this.result = result;
-    this.errorMessages = result.getErrorMessages();
+    }
+
+  /**
+   * @param writableStackTrace false skips capturing the stack trace, for callers that only inspect the errors
+   */
+  public ParserSyntaxException( Result<?> result, boolean writableStackTrace )
+    {
+    super( null, null, writableStackTrace, writableStackTrace );
+    this.result = result;
     }
 
   public ParserSyntaxException( List<String> errorMessages )
     {
-    super( makeMessage( errorMessages ) );
     this.result = null;
+    this.message = makeMessage( errorMessages );
     this.errorMessages = errorMessages;
     }
 
+  @Override
+  public String getMessage()
+    {
+    String current = message;
+
+    if( current == null )
+      {
+      current = makeMessage( result );
+      message = current;
+      }
+
+    return current;
+    }
+
   public String getSyntaxError()
     {
     if( result == null )
@@ -49,7 +73,15 @@ public class ParserSyntaxException extends RuntimeException
 
   public List<String> getErrorMessages()
     {
-    return errorMessages;
+    List<String> current = errorMessages;
+
+    if( current == null )
+      {
+      current = result.getErrorMessages();
+      errorMessages = current;
+      }
+
+    return current;
     }
 
   public List<ParseError> getParserErrorObjects()
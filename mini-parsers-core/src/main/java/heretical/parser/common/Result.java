@@ -10,6 +10,8 @@ package heretical.parser.common;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import heretical.parser.common.expression.Expression;
 import org.parboiled.errors.ErrorUtils;
@@ -17,27 +19,80 @@ import org.parboiled.errors.ParseError;
 import org.parboiled.support.ParsingResult;
 
 /**
- *
+ * The result of a parse.
+ * <p>
+ * A failed parse may defer its error reporting, see {@link #Result(ParsingResult, long, TimeUnit, Supplier)},
+ * the detailed errors are then only built on the first call to any method returning them.
  */
 public class Result<E extends Expression>
   {
   private final ParsingResult<E> result;
-  private final long parseDuration;
+  private final long parseDurationNanos;
+  private final Supplier<ParsingResult<E>> errorReporter;
+  private volatile ParsingResult<E> reportedResult;
 
   public Result( ParsingResult<E> result, long parseDuration )
+    {
+    this( result, parseDuration, TimeUnit.MILLISECONDS );
+    }
+
+  public Result( ParsingResult<E> result, long parseDuration, TimeUnit timeUnit )
+    {
+    this( result, parseDuration, timeUnit, null );
+    }
+
+  /**
+   * @param errorReporter re-runs the input to report the errors of a failed result that has none, only called
+   *                      when the errors are first asked for, may be {@code null}
+   */
+  public Result( ParsingResult<E> result, long parseDuration, TimeUnit timeUnit, Supplier<ParsingResult<E>> errorReporter )
     {
     this.result = result;
-    this.parseDuration = parseDuration;
+    this.parseDurationNanos = timeUnit.toNanos( parseDuration );
+    this.errorReporter = result.matched || result.hasErrors() ? null : errorReporter;
     }
 
+  /**
+   * @return the parsing result, if the errors of a failed parse were deferred they are reported by this call
+   */
   public ParsingResult<E> getParsingResult()
     {
-    return result;
+    if( errorReporter == null )
+      return result;
+
+    ParsingResult<E> reported = reportedResult;
+
+    if( reported == null )
+      {
+      reported = errorReporter.get();
+      reportedResult = reported;
+      }
+
+    return reported;
     }
 
+  /**
+   * @return true if the errors of this failed result have not been reported yet
+   */
+  public boolean isErrorReportDeferred()
+    {
+    return errorReporter != null && reportedResult == null;
+    }
+
+  /**
+   * @return the time spent matching the input against the grammar, in milliseconds
+   */
   public long getParseDuration()
     {
-    return parseDuration;
+    return TimeUnit.NANOSECONDS.toMillis( parseDurationNanos );
+    }
+
+  /**
+   * @return the time spent matching the input against the grammar, in nanoseconds
+   */
+  public long getParseDurationNanos()
+    {
+    return parseDurationNanos;
     }
 
   public boolean matched()
@@ -47,7 +102,15 @@ public class Result<E extends Expression>
 
   public boolean hasErrors()
     {
-    return result.hasErrors();
+    return errorReporter != null || result.hasErrors();
+    }
+
+  /**
+   * @return true if the parse gave up once it exceeded its {@link ParseBudget}, see {@link BudgetedParseRunner}
+   */
+  public boolean isBudgetExceeded()
+    {
+    return !result.matched && result.hasErrors() && result.parseErrors.get( 0 ) instanceof ParseBudgetExceededError;
     }
 
   public E getExpression()
@@ -57,33 +120,33 @@ public class Result<E extends Expression>
 
   public int getNumErrors()
     {
-    if( !result.hasErrors() )
+    if( !hasErrors() )
       return 0;
 
-    return result.parseErrors.size();
+    return getParsingResult().parseErrors.size();
     }
 
   public int getErrorStartIndex( int index )
     {
-    if( !result.hasErrors() )
+    if( !hasErrors() )
       throw new IllegalStateException( "has no errors" );
 
-    return result.parseErrors.get( index ).getStartIndex();
+    return getParsingResult().parseErrors.get( index ).getStartIndex();
     }
 
   public int getErrorEndIndex( int index )
     {
-    if( !result.hasErrors() )
+    if( !hasErrors() )
       throw new IllegalStateException( "has no errors" );
 
-    return result.parseErrors.get( index ).getEndIndex();
+    return getParsingResult().parseErrors.get( index ).getEndIndex();
     }
 
   public List<String> getErrorMessages()
     {
     List<String> messages = new ArrayList<>();
 
-    for( ParseError parseError : result.parseErrors )
+    for( ParseError parseError : getParsingResult().parseErrors )
       messages.add( parseError.getErrorMessage() );
 
     return messages;
@@ -91,6 +154,6 @@ public class Result<E extends Expression>
 
   public String prettyPrintErrors()
     {
-    return ErrorUtils.printParseErrors( result );
+    return ErrorUtils.printParseErrors( getParsingResult() );
     }
   }
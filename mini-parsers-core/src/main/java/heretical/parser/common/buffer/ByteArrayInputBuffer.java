@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.common.buffer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * An input buffer over a range of a {@code byte[]} of ASCII characters, the array is not copied or decoded.
+ * <p>
+ * Use {@link #utf8(byte[], int, int)} when the bytes may hold UTF-8 encoded characters beyond ASCII.
+ */
+public class ByteArrayInputBuffer extends SliceInputBuffer
+  {
+  private final byte[] buffer;
+  private final int offset;
+
+  /**
+   * Reads the given range of UTF-8 bytes in place if they are all ASCII, the common case for the grammars, otherwise
+   * decodes them once.
+   */
+  public static SliceInputBuffer utf8( byte[] buffer, int offset, int length )
+    {
+    Objects.checkFromIndexSize( offset, length, buffer.length );
+
+    if( isAscii( buffer, offset, length ) )
+      return new ByteArrayInputBuffer( buffer, offset, length );
+
+    return new CharSequenceInputBuffer( new String( buffer, offset, length, StandardCharsets.UTF_8 ) );
+    }
+
+  static boolean isAscii( byte[] buffer, int offset, int length )
+    {
+    for( int i = offset; i < offset + length; i++ )
+      {
+      if( buffer[ i ] < 0 )
+        return false;
+      }
+
+    return true;
+    }
+
+  public ByteArrayInputBuffer( byte[] buffer, int offset, int length )
+    {
+    super( length );
+
+    Objects.checkFromIndexSize( offset, length, buffer.length );
+
+    this.buffer = buffer;
+    this.offset = offset;
+    }
+
+  @Override
+  protected char read( int index )
+    {
+    return (char) ( buffer[ offset + index ] & 0xFF );
+    }
+
+  @Override
+  protected String read( int start, int end )
+    {
+    return new String( buffer, offset + start, end - start, StandardCharsets.ISO_8859_1 );
+    }
+  }
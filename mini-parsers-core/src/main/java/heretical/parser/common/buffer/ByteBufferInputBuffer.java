@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.common.buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An input buffer over the remaining bytes of a {@link ByteBuffer} of ASCII characters, heap or direct, the
+ * buffer is not copied or decoded and its position is left unchanged.
+ * <p>
+ * Use {@link #utf8(ByteBuffer)} when the bytes may hold UTF-8 encoded characters beyond ASCII.
+ */
+public class ByteBufferInputBuffer extends SliceInputBuffer
+  {
+  private final ByteBuffer buffer;
+  private final int offset;
+
+  /**
+   * Reads the remaining UTF-8 bytes in place if they are all ASCII, the common case for the grammars, otherwise
+   * decodes them once.
+   */
+  public static SliceInputBuffer utf8( ByteBuffer buffer )
+    {
+    if( buffer.hasArray() )
+      return ByteArrayInputBuffer.utf8( buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining() );
+
+    if( isAscii( buffer ) )
+      return new ByteBufferInputBuffer( buffer );
+
+    return new CharSequenceInputBuffer( StandardCharsets.UTF_8.decode( buffer.duplicate() ) );
+    }
+
+  private static boolean isAscii( ByteBuffer buffer )
+    {
+    for( int i = buffer.position(); i < buffer.limit(); i++ )
+      {
+      if( buffer.get( i ) < 0 )
+        return false;
+      }
+
+    return true;
+    }
+
+  public ByteBufferInputBuffer( ByteBuffer buffer )
+    {
+    super( buffer.remaining() );
+
+    this.buffer = buffer;
+    this.offset = buffer.position();
+    }
+
+  @Override
+  protected char read( int index )
+    {
+    return (char) ( buffer.get( offset + index ) & 0xFF );
+    }
+  }
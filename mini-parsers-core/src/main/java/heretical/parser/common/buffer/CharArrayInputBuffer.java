@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.common.buffer;
+
+import java.util.Objects;
+
+/**
+ * An input buffer over a range of a {@code char[]}, the array is not copied.
+ */
+public class CharArrayInputBuffer extends SliceInputBuffer
+  {
+  private final char[] buffer;
+  private final int offset;
+
+  public CharArrayInputBuffer( char[] buffer )
+    {
+    this( buffer, 0, buffer.length );
+    }
+
+  public CharArrayInputBuffer( char[] buffer, int offset, int length )
+    {
+    super( length );
+
+    Objects.checkFromIndexSize( offset, length, buffer.length );
+
+    this.buffer = buffer;
+    this.offset = offset;
+    }
+
+  @Override
+  protected char read( int index )
+    {
+    return buffer[ offset + index ];
+    }
+
+  @Override
+  protected String read( int start, int end )
+    {
+    return new String( buffer, offset + start, end - start );
+    }
+  }
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.common.buffer;
+
+import java.util.Objects;
+
+/**
+ * An input buffer over a range of a {@link CharSequence}, such as a {@link java.nio.CharBuffer} or
+ * {@link StringBuilder}, the sequence is not copied.
+ */
+public class CharSequenceInputBuffer extends SliceInputBuffer
+  {
+  private final CharSequence sequence;
+  private final int offset;
+
+  public CharSequenceInputBuffer( CharSequence sequence )
+    {
+    this( sequence, 0, sequence.length() );
+    }
+
+  public CharSequenceInputBuffer( CharSequence sequence, int offset, int length )
+    {
+    super( length );
+
+    Objects.checkFromIndexSize( offset, length, sequence.length() );
+
+    this.sequence = sequence;
+    this.offset = offset;
+    }
+
+  @Override
+  protected char read( int index )
+    {
+    return sequence.charAt( offset + index );
+    }
+
+  @Override
+  protected String read( int start, int end )
+    {
+    return sequence.subSequence( offset + start, offset + end ).toString();
+    }
+  }
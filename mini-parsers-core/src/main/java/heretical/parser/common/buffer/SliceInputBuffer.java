@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.common.buffer;
+
+import java.util.Arrays;
+
+import org.parboiled.buffers.DefaultInputBuffer;
+import org.parboiled.buffers.InputBuffer;
+import org.parboiled.errors.ParserRuntimeException;
+import org.parboiled.support.Chars;
+import org.parboiled.support.IndexRange;
+import org.parboiled.support.Position;
+
+/**
+ * The base of all {@link InputBuffer} implementations reading a slice of a larger input in place, without
+ * copying it into a new {@code char[]} as {@link DefaultInputBuffer} requires.
+ * <p>
+ * The underlying input is not copied, it must not be modified while it is being parsed. Call {@link #detach()}
+ * before the input is reused if this buffer, or any parse result or error referencing it, is retained.
+ */
+public abstract class SliceInputBuffer implements InputBuffer
+  {
+  protected final int length;
+
+  // a copy of the input once detached
+  private char[] detached;
+
+  // the indices of the newline characters, only needed when reporting errors
+  private int[] newlines;
+
+  protected SliceInputBuffer( int length )
+    {
+    this.length = length;
+    }
+
+  /**
+   * @return the char at the given index of the underlying input, where {@code 0 <= index < length}
+   */
+  protected abstract char read( int index );
+
+  private char get( int index )
+    {
+    char[] chars = detached;
+
+    if( chars != null )
+      return chars[ index ];
+
+    return read( index );
+    }
+
+  public int length()
+    {
+    return length;
+    }
+
+  @Override
+  public char charAt( int index )
+    {
+    if( 0 <= index && index < length )
+      return get( index );
+
+    if( index - length > 100_000 )
+      throw new ParserRuntimeException( "Parser read more than 100K chars beyond EOI, verify that your grammar does not consume EOI indefinitely!" );
+
+    return Chars.EOI;
+    }
+
+  @Override
+  public boolean test( int index, char[] characters )
+    {
+    int len = characters.length;
+
+    if( index < 0 || index > length - len )
+      return false;
+
+    for( int i = 0; i < len; i++ )
+      {
+      if( get( index + i ) != characters[ i ] )
+        return false;
+      }
+
+    return true;
+    }
+
+  @Override
+  public String extract( int start, int end )
+    {
+    if( start < 0 )
+      start = 0;
+
+    if( end >= length )
+      end = length;
+
+    if( end <= start )
+      return "";
+
+    return substring( start, end );
+    }
+
+  @Override
+  public String extract( IndexRange range )
+    {
+    return substring( range.start, Math.min( range.end, length ) );
+    }
+
+  private String substring( int start, int end )
+    {
+    char[] chars = detached;
+
+    if( chars != null )
+      return new String( chars, start, end - start );
+
+    return read( start, end );
+    }
+
+  /**
+   * @return the chars from start to end of the underlying input as a String
+   */
+  protected String read( int start, int end )
+    {
+    char[] chars = new char[ end - start ];
+
+    for( int i = start; i < end; i++ )
+      chars[ i - start ] = read( i );
+
+    return new String( chars );
+    }
+
+  @Override
+  public Position getPosition( int index )
+    {
+    int[] newlines = getNewlines();
+    int line = getLine0( newlines, index );
+    int column = index - ( line > 0 ? newlines[ line - 1 ] : -1 );
+
+    return new Position( line + 1, column );
+    }
+
+  @Override
+  public int getOriginalIndex( int index )
+    {
+    return index;
+    }
+
+  @Override
+  public String extractLine( int lineNumber )
+    {
+    int[] newlines = getNewlines();
+
+    if( lineNumber < 1 || lineNumber > newlines.length + 1 )
+      throw new IllegalArgumentException( "lineNumber out of range: " + lineNumber );
+
+    int start = lineNumber > 1 ? newlines[ lineNumber - 2 ] + 1 : 0;
+    int end = lineNumber <= newlines.length ? newlines[ lineNumber - 1 ] : length;
+
+    if( charAt( end - 1 ) == '\r' )
+      end--;
+
+    return extract( start, end );
+    }
+
+  @Override
+  public int getLineCount()
+    {
+    return getNewlines().length + 1;
+    }
+
+  /**
+   * Copies the slice out of the underlying input, so the input may be reused while this buffer is retained.
+   */
+  public void detach()
+    {
+    if( detached != null )
+      return;
+
+    char[] chars = new char[ length ];
+
+    for( int i = 0; i < length; i++ )
+      chars[ i ] = read( i );
+
+    detached = chars;
+    }
+
+  public boolean isDetached()
+    {
+    return detached != null;
+    }
+
+  private static int getLine0( int[] newlines, int index )
+    {
+    int j = Arrays.binarySearch( newlines, index );
+
+    return j >= 0 ? j : -( j + 1 );
+    }
+
+  private int[] getNewlines()
+    {
+    if( newlines != null )
+      return newlines;
+
+    int count = 0;
+
+    for( int i = 0; i < length; i++ )
+      {
+      if( get( i ) == '\n' )
+        count++;
+      }
+
+    int[] result = new int[ count ];
+
+    for( int i = 0, j = 0; i < length; i++ )
+      {
+      if( get( i ) == '\n' )
+        result[ j++ ] = i;
+      }
+
+    newlines = result;
+
+    return result;
+    }
+  }
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.common.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed size, thread-safe, log-linear histogram of nanosecond latencies.
+ * <p>
+ * Every power of two is split into 16 linear sub-buckets, so any reported value is within 1/16th (~6%) of the
+ * recorded value. Recording is a single atomic increment, and two histograms can be merged to aggregate
+ * across parsers or threads.
+ * <p>
+ * Percentiles are reported as the highest value of the bucket they fall in.
+ */
+public class LatencyHistogram
+  {
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = ( 64 - SUB_BUCKET_BITS ) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray( BUCKETS );
+  private final LongAdder total = new LongAdder();
+
+  public LatencyHistogram()
+    {
+    }
+
+  public void record( long nanos )
+    {
+    if( nanos < 0 )
+      nanos = 0;
+
+    counts.incrementAndGet( indexOf( nanos ) );
+    total.add( nanos );
+    }
+
+  /**
+   * Adds all the values recorded in the given histogram to this histogram.
+   */
+  public void merge( LatencyHistogram histogram )
+    {
+    for( int i = 0; i < BUCKETS; i++ )
+      {
+      long count = histogram.counts.get( i );
+
+      if( count != 0 )
+        counts.addAndGet( i, count );
+      }
+
+    total.add( histogram.total.sum() );
+    }
+
+  public LatencyHistogram copy()
+    {
+    LatencyHistogram copy = new LatencyHistogram();
+
+    copy.merge( this );
+
+    return copy;
+    }
+
+  public void reset()
+    {
+    for( int i = 0; i < BUCKETS; i++ )
+      counts.set( i, 0 );
+
+    total.reset();
+    }
+
+  public long getCount()
+    {
+    long count = 0;
+
+    for( int i = 0; i < BUCKETS; i++ )
+      count += counts.get( i );
+
+    return count;
+    }
+
+  public double getMean()
+    {
+    long count = getCount();
+
+    if( count == 0 )
+      return 0;
+
+    return (double) total.sum() / count;
+    }
+
+  public long getMax()
+    {
+    for( int i = BUCKETS - 1; i >= 0; i-- )
+      {
+      if( counts.get( i ) != 0 )
+        return highestValueOf( i );
+      }
+
+    return 0;
+    }
+
+  /**
+   * @param percentile a value between 0 and 100
+   * @return the value at the given percentile, or zero if nothing was recorded
+   */
+  public long getValueAtPercentile( double percentile )
+    {
+    if( percentile < 0 || percentile > 100 )
+      throw new IllegalArgumentException( "percentile must be between 0 and 100, got: " + percentile );
+
+    long[] snapshot = new long[ BUCKETS ];
+    long count = 0;
+
+    for( int i = 0; i < BUCKETS; i++ )
+      {
+      snapshot[ i ] = counts.get( i );
+      count += snapshot[ i ];
+      }
+
+    if( count == 0 )
+      return 0;
+
+    long rank = Math.max( 1, (long) Math.ceil( percentile / 100.0 * count ) );
+    long seen = 0;
+
+    for( int i = 0; i < BUCKETS; i++ )
+      {
+      seen += snapshot[ i ];
+
+      if( seen >= rank )
+        return highestValueOf( i );
+      }
+
+    return getMax();
+    }
+
+  public long getP50()
+    {
+    return getValueAtPercentile( 50 );
+    }
+
+  public long getP99()
+    {
+    return getValueAtPercentile( 99 );
+    }
+
+  public long getP999()
+    {
+    return getValueAtPercentile( 99.9 );
+    }
+
+  static int indexOf( long value )
+    {
+    if( value < SUB_BUCKETS )
+      return (int) value;
+
+    int exponent = 63 - Long.numberOfLeadingZeros( value );
+    int shift = exponent - SUB_BUCKET_BITS;
+    int subBucket = (int) ( value >>> shift ) & ( SUB_BUCKETS - 1 );
+
+    return ( shift + 1 ) * SUB_BUCKETS + subBucket;
+    }
+
+  static long highestValueOf( int index )
+    {
+    if( index < SUB_BUCKETS )
+      return index;
+
+    int shift = index / SUB_BUCKETS - 1;
+    long subBucket = index % SUB_BUCKETS;
+    long lowest = ( SUB_BUCKETS + subBucket ) << shift;
+
+    return lowest + ( 1L << shift ) - 1;
+    }
+
+  @Override
+  public String toString()
+    {
+    return "LatencyHistogram{" +
+      "count=" + getCount() +
+      ", p50=" + getP50() +
+      ", p99=" + getP99() +
+      ", p999=" + getP999() +
+      ", max=" + getMax() +
+      '}';
+    }
+  }
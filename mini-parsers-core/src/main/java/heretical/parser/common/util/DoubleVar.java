@@ -8,12 +8,18 @@
 
 package heretical.parser.common.util;
 
-import org.parboiled.support.Var;
+import heretical.parser.common.buffer.CharSequenceInputBuffer;
+import org.parboiled.Context;
+import org.parboiled.buffers.InputBuffer;
+import org.parboiled.common.Factory;
 
 /**
- *
+ * Captures a double ignoring any commas, see {@link #set(Context)}.
+ * <p>
+ * The value is held boxed, as Parboiled frames hold objects. A value beyond the range of a double is captured as
+ * infinity, the same as {@link Double#parseDouble(String)}.
  */
-public class DoubleVar extends Var<Double>
+public class DoubleVar extends ThreadLocalVar<Double>
   {
   public DoubleVar()
     {
@@ -24,13 +30,31 @@ public class DoubleVar extends Var<Double>
     super( number );
     }
 
+  public DoubleVar( Factory<Double> initialValueFactory )
+    {
+    super( initialValueFactory );
+    }
+
   public boolean set( String doubleString )
     {
-    doubleString = doubleString.replaceAll( ",", "" );
+    return set( new CharSequenceInputBuffer( doubleString ), 0, doubleString.length() );
+    }
 
+  /**
+   * Sets the number matched by the rule immediately preceding the calling action, read in place from the input.
+   *
+   * @return false if the match is not a number, failing the action
+   */
+  public boolean set( Context<?> context )
+    {
+    return set( context.getInputBuffer(), context.getMatchStartIndex(), context.getMatchEndIndex() );
+    }
+
+  public boolean set( InputBuffer buffer, int start, int end )
+    {
     try
       {
-      return set( Double.valueOf( doubleString ) );
+      return set( Double.valueOf( Numbers.parseDouble( buffer, start, end ) ) );
       }
     catch( NumberFormatException exception )
       {
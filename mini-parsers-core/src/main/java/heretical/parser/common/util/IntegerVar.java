@@ -8,12 +8,19 @@
 
 package heretical.parser.common.util;
 
-import org.parboiled.support.Var;
+import heretical.parser.common.buffer.CharSequenceInputBuffer;
+import org.parboiled.Context;
+import org.parboiled.buffers.InputBuffer;
+import org.parboiled.common.Factory;
 
 /**
- *
+ * Captures an integer ignoring any commas, see {@link #set(Context)}.
+ * <p>
+ * The value is held boxed, as Parboiled frames hold objects, small values come from the {@link Integer#valueOf(int)}
+ * cache. A value beyond the range of an int fails the capturing action, so the parse reports it as a plain syntax
+ * error, nothing marks it as an overflow.
  */
-public class IntegerVar extends Var<Integer>
+public class IntegerVar extends ThreadLocalVar<Integer>
   {
   public IntegerVar()
     {
@@ -24,13 +31,31 @@ public class IntegerVar extends Var<Integer>
     super( number );
     }
 
+  public IntegerVar( Factory<Integer> initialValueFactory )
+    {
+    super( initialValueFactory );
+    }
+
   public boolean set( String integerString )
     {
-    integerString = integerString.replaceAll( ",", "" );
+    return set( new CharSequenceInputBuffer( integerString ), 0, integerString.length() );
+    }
 
+  /**
+   * Sets the number matched by the rule immediately preceding the calling action, read in place from the input.
+   *
+   * @return false if the match is not a number or is out of range, failing the action
+   */
+  public boolean set( Context<?> context )
+    {
+    return set( context.getInputBuffer(), context.getMatchStartIndex(), context.getMatchEndIndex() );
+    }
+
+  public boolean set( InputBuffer buffer, int start, int end )
+    {
     try
       {
-      return set( Integer.valueOf( integerString ) );
+      return set( Integer.valueOf( Numbers.parseInt( buffer, start, end ) ) );
       }
     catch( NumberFormatException exception )
       {
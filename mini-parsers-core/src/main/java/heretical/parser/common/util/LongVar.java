@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.common.util;
+
+import heretical.parser.common.buffer.CharSequenceInputBuffer;
+import org.parboiled.Context;
+import org.parboiled.buffers.InputBuffer;
+import org.parboiled.common.Factory;
+
+/**
+ * Captures a long integer ignoring any commas, see {@link #set(Context)}, for grammars capturing values beyond the
+ * range of an int, the built in grammars only capture ints and doubles.
+ * <p>
+ * The value is held boxed, as Parboiled frames hold objects. A value beyond the range of a long fails the capturing
+ * action, so the parse reports it as a plain syntax error, nothing marks it as an overflow.
+ */
+public class LongVar extends ThreadLocalVar<Long>
+  {
+  public LongVar()
+    {
+    }
+
+  public LongVar( Long number )
+    {
+    super( number );
+    }
+
+  public LongVar( Factory<Long> initialValueFactory )
+    {
+    super( initialValueFactory );
+    }
+
+  public boolean set( String longString )
+    {
+    return set( new CharSequenceInputBuffer( longString ), 0, longString.length() );
+    }
+
+  /**
+   * Sets the number matched by the rule immediately preceding the calling action, read in place from the input.
+   *
+   * @return false if the match is not a number or is out of range, failing the action
+   */
+  public boolean set( Context<?> context )
+    {
+    return set( context.getInputBuffer(), context.getMatchStartIndex(), context.getMatchEndIndex() );
+    }
+
+  public boolean set( InputBuffer buffer, int start, int end )
+    {
+    try
+      {
+      return set( Long.valueOf( Numbers.parseLong( buffer, start, end ) ) );
+      }
+    catch( NumberFormatException exception )
+      {
+      return false;
+      }
+    }
+  }
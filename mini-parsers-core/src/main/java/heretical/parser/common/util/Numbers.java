@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.common.util;
+
+import org.parboiled.buffers.InputBuffer;
+
+/**
+ * Parses numbers directly from a range of an {@link InputBuffer}, ignoring any commas, so a grammar action can
+ * capture a number without extracting the match into a String.
+ * <p>
+ * An integer beyond the range of the returned type throws a {@link NumberFormatException}, the same as
+ * {@link Long#parseLong(String)}, a double beyond range is infinity, the same as {@link Double#parseDouble(String)}.
+ */
+public final class Numbers
+  {
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+    1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  private Numbers()
+    {
+    }
+
+  public static int parseInt( InputBuffer buffer, int start, int end )
+    {
+    long value = parseLong( buffer, start, end );
+
+    if( value < Integer.MIN_VALUE || value > Integer.MAX_VALUE )
+      throw outOfRange( buffer, start, end );
+
+    return (int) value;
+    }
+
+  public static long parseLong( InputBuffer buffer, int start, int end )
+    {
+    int index = start;
+    boolean negative = false;
+
+    if( index < end )
+      {
+      char first = buffer.charAt( index );
+
+      if( first == '-' || first == '+' )
+        {
+        negative = first == '-';
+        index++;
+        }
+      }
+
+    // accumulates negatively, as Long#parseLong, so Long.MIN_VALUE is in range
+    long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+    long multiplyLimit = limit / 10;
+    long result = 0;
+    int digits = 0;
+
+    for( ; index < end; index++ )
+      {
+      char c = buffer.charAt( index );
+
+      if( c == ',' )
+        continue;
+
+      int digit = c - '0';
+
+      if( digit < 0 || digit > 9 )
+        throw new NumberFormatException( "not a number: " + buffer.extract( start, end ) );
+
+      if( result < multiplyLimit )
+        throw outOfRange( buffer, start, end );
+
+      result *= 10;
+
+      if( result < limit + digit )
+        throw outOfRange( buffer, start, end );
+
+      result -= digit;
+      digits++;
+      }
+
+    if( digits == 0 )
+      throw new NumberFormatException( "not a number: " + buffer.extract( start, end ) );
+
+    return negative ? result : -result;
+    }
+
+  /**
+   * Plain decimals of up to 15 significant digits are computed directly, all other values, including exponents,
+   * are handed to {@link Double#parseDouble(String)} without their commas.
+   */
+  public static double parseDouble( InputBuffer buffer, int start, int end )
+    {
+    int index = start;
+    boolean negative = false;
+
+    if( index < end )
+      {
+      char first = buffer.charAt( index );
+
+      if( first == '-' || first == '+' )
+        {
+        negative = first == '-';
+        index++;
+        }
+      }
+
+    long mantissa = 0;
+    int significant = 0;
+    int scale = 0;
+    int digits = 0;
+    boolean fraction = false;
+
+    for( ; index < end; index++ )
+      {
+      char c = buffer.charAt( index );
+
+      if( c == ',' && !fraction )
+        continue;
+
+      if( c == '.' && !fraction )
+        {
+        fraction = true;
+        continue;
+        }
+
+      int digit = c - '0';
+
+      if( digit < 0 || digit > 9 )
+        return parseDoubleSlow( buffer, start, end );
+
+      digits++;
+
+      if( fraction )
+        scale++;
+
+      if( mantissa == 0 && digit == 0 )
+        continue;
+
+      if( ++significant > 15 )
+        return parseDoubleSlow( buffer, start, end );
+
+      mantissa = mantissa * 10 + digit;
+      }
+
+    if( digits == 0 || scale >= POWERS_OF_TEN.length )
+      return parseDoubleSlow( buffer, start, end );
+
+    // both operands are exact, so the single division is correctly rounded
+    double value = (double) mantissa / POWERS_OF_TEN[ scale ];
+
+    return negative ? -value : value;
+    }
+
+  private static double parseDoubleSlow( InputBuffer buffer, int start, int end )
+    {
+    StringBuilder builder = new StringBuilder( end - start );
+
+    for( int index = start; index < end; index++ )
+      {
+      char c = buffer.charAt( index );
+
+      if( c != ',' )
+        builder.append( c );
+      }
+
+    return Double.parseDouble( builder.toString() );
+    }
+
+  private static NumberFormatException outOfRange( InputBuffer buffer, int start, int end )
+    {
+    return new NumberFormatException( "value out of range: " + buffer.extract( start, end ) );
+    }
+  }
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.common.util;
+
+import java.util.ArrayList;
+
+import org.parboiled.common.Factory;
+import org.parboiled.support.Var;
+
+/**
+ * A {@link Var} that keeps its value and frame stack per thread, so a single grammar instance may be run by
+ * many threads at once.
+ * <p>
+ * Parboiled rewrites {@code new ThreadLocalVar<>( value )} in a rule method into a {@link Factory} creating a
+ * new value every time the rule is entered, the same as it does for {@link Var}.
+ */
+public class ThreadLocalVar<T> extends Var<T>
+  {
+  private static class Frames<T>
+    {
+    T value;
+    int level;
+    ArrayList<T> stack;
+    }
+
+  private final Factory<T> initialValueFactory;
+  private final ThreadLocal<Frames<T>> frames = ThreadLocal.withInitial( Frames::new );
+
+  public ThreadLocalVar()
+    {
+    this( (T) null );
+    }
+
+  public ThreadLocalVar( T value )
+    {
+    this( () -> value );
+    }
+
+  public ThreadLocalVar( Factory<T> initialValueFactory )
+    {
+    super( initialValueFactory );
+    this.initialValueFactory = initialValueFactory;
+    }
+
+  @Override
+  public int getLevel()
+    {
+    return frames.get().level;
+    }
+
+  @Override
+  public boolean enterFrame()
+    {
+    Frames<T> frames = this.frames.get();
+
+    if( frames.level++ > 0 )
+      {
+      if( frames.stack == null )
+        frames.stack = new ArrayList<>();
+
+      frames.stack.add( frames.value );
+      }
+
+    frames.value = initialValueFactory.create();
+
+    return true;
+    }
+
+  @Override
+  public boolean exitFrame()
+    {
+    Frames<T> frames = this.frames.get();
+
+    if( --frames.level > 0 )
+      frames.value = frames.stack.remove( frames.stack.size() - 1 );
+    else
+      frames.value = null; // do not retain the last parse value in idle threads
+
+    return true;
+    }
+
+  @Override
+  public boolean clear()
+    {
+    return set( null );
+    }
+
+  @Override
+  public boolean set( T value )
+    {
+    frames.get().value = value;
+
+    return true;
+    }
+
+  @Override
+  public T get()
+    {
+    return frames.get().value;
+    }
+
+  @Override
+  public T getAndClear()
+    {
+    return getAndSet( null );
+    }
+
+  @Override
+  public T getAndSet( T value )
+    {
+    Frames<T> frames = this.frames.get();
+    T previous = frames.value;
+
+    frames.value = value;
+
+    return previous;
+    }
+
+  @Override
+  public T setAndGet( T value )
+    {
+    set( value );
+
+    return value;
+    }
+
+  @Override
+  public boolean isSet()
+    {
+    return get() != null;
+    }
+
+  @Override
+  public boolean isNotSet()
+    {
+    return get() == null;
+    }
+  }
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.common;
+
+import java.time.Duration;
+
+import heretical.parser.common.util.ThreadLocalVar;
+import org.junit.Before;
+import org.junit.Test;
+import org.parboiled.Parboiled;
+import org.parboiled.parserunners.ReportingParseRunner;
+import org.parboiled.support.ParsingResult;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ */
+public class BudgetedParseRunnerTest
+  {
+  private static final String DEEP = "((((((((((((((1))))))))))))))";
+
+  private NestingGrammar grammar;
+
+  @Before
+  public void setUp()
+    {
+    grammar = Parboiled.createParser( NestingGrammar.class );
+    }
+
+  @Test
+  public void withinBudget()
+    {
+    ParsingResult<Integer> result = new BudgetedParseRunner<Integer>( grammar.Root(), ParseBudget.ofSteps( 10_000 ) ).run( "(1(23)4)" );
+
+    assertTrue( result.matched );
+    assertEquals( Integer.valueOf( 4 ), result.resultValue );
+
+    ParsingResult<Integer> failed = new BudgetedParseRunner<Integer>( grammar.Root(), ParseBudget.ofSteps( 10_000 ) ).run( "(1(23)4" );
+
+    assertFalse( failed.matched );
+    assertFalse( failed.parseErrors.get( 0 ) instanceof ParseBudgetExceededError );
+    }
+
+  @Test
+  public void exceededLeavesFrames()
+    {
+    for( int i = 0; i < 100; i++ )
+      assertBudgetExceeded( new BudgetedParseRunner<Integer>( grammar.Root(), ParseBudget.ofSteps( 20 ) ).run( DEEP ) );
+
+    assertEquals( 0, ( (ThreadLocalVar<Integer>) grammar.count ).getLevel() );
+
+    ParsingResult<Integer> result = new ReportingParseRunner<Integer>( grammar.Root() ).run( DEEP );
+
+    assertTrue( result.matched );
+    assertEquals( Integer.valueOf( 1 ), result.resultValue );
+    }
+
+  @Test
+  public void exceededInOptionalTail()
+    {
+    assertTrue( new ReportingParseRunner<Integer>( grammar.OptionalTail() ).run( "(" + DEEP ).matched );
+
+    // the root would match once the optional tail gives up, the result still fails without a value
+    assertBudgetExceeded( new BudgetedParseRunner<Integer>( grammar.OptionalTail(), ParseBudget.ofSteps( 20 ) ).run( "(" + DEEP ) );
+
+    assertEquals( 0, ( (ThreadLocalVar<Integer>) grammar.count ).getLevel() );
+    }
+
+  @Test
+  public void exceededTime()
+    {
+    ParsingResult<Integer> result = new BudgetedParseRunner<Integer>( grammar.Root(), ParseBudget.ofTime( Duration.ofNanos( 1 ) ) ).run( DEEP );
+
+    assertBudgetExceeded( result );
+    assertTrue( ( (ParseBudgetExceededError) result.parseErrors.get( 0 ) ).getElapsedNanos() > 0 );
+    assertEquals( 0, ( (ThreadLocalVar<Integer>) grammar.count ).getLevel() );
+    }
+
+  private static void assertBudgetExceeded( ParsingResult<Integer> result )
+    {
+    assertFalse( result.matched );
+    assertNull( result.resultValue );
+    assertTrue( result.valueStack.isEmpty() );
+    assertEquals( 1, result.parseErrors.size() );
+    assertTrue( result.parseErrors.get( 0 ) instanceof ParseBudgetExceededError );
+    }
+  }
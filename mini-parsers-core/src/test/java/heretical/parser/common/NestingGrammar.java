@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.common;
+
+import heretical.parser.common.util.ThreadLocalVar;
+import org.parboiled.BaseParser;
+import org.parboiled.Rule;
+import org.parboiled.support.Var;
+
+/**
+ * A recursive test grammar counting the digits within nested parentheses, e.g. {@code (1(23)4)} is 4.
+ * <p>
+ * Every nesting level enters a frame of {@link #count}, so its level may be inspected after a run.
+ */
+public class NestingGrammar extends BaseParser<Integer>
+  {
+  Var<Integer> count;
+
+  public Rule Root()
+    {
+    return Sequence( Nested(), EOI );
+    }
+
+  /**
+   * Matches even if the nested tail fails, e.g. {@code (} or {@code ((1)}.
+   */
+  public Rule OptionalTail()
+    {
+    return Sequence( '(', Optional( Nested() ) );
+    }
+
+  public Rule Nested()
+    {
+    Var<Integer> count = new ThreadLocalVar<>( 0 );
+
+    this.count = count;
+
+    return Sequence(
+      '(',
+      ZeroOrMore(
+        FirstOf(
+          Sequence( Nested(), count.set( count.get() + pop() ) ),
+          Sequence( CharRange( '0', '9' ), count.set( count.get() + 1 ) )
+        )
+      ),
+      ')',
+      push( count.get() )
+    );
+    }
+  }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.common;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.parboiled.Parboiled;
+import org.parboiled.Rule;
+import org.parboiled.parserunners.AbstractParseRunner;
+import org.parboiled.parserunners.ReportingParseRunner;
+import org.parboiled.support.ParsingResult;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ */
+public class ParseRunnerPoolTest
+  {
+  private Rule root;
+
+  @Before
+  public void setUp()
+    {
+    root = Parboiled.createParser( NestingGrammar.class ).Root();
+    }
+
+  @Test
+  public void reuse()
+    {
+    ParseRunnerPool<Integer> pool = new ParseRunnerPool<>( 1, () -> new ReportingParseRunner<>( root ) );
+
+    AbstractParseRunner<Integer> first = pool.borrow();
+    AbstractParseRunner<Integer> second = pool.borrow();
+
+    assertNotSame( first, second );
+
+    pool.release( first );
+    pool.release( second ); // over the per thread limit, dropped
+
+    assertSame( first, pool.borrow() );
+    assertNotSame( second, pool.borrow() );
+    }
+
+  @Test
+  public void perThread() throws Exception
+    {
+    ParseRunnerPool<Integer> pool = new ParseRunnerPool<>( 1, () -> new ReportingParseRunner<>( root ) );
+
+    AbstractParseRunner<Integer> runner = pool.borrow();
+
+    pool.release( runner );
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try
+      {
+      assertNotSame( runner, executor.submit( pool::borrow ).get() );
+      }
+    finally
+      {
+      executor.shutdownNow();
+      }
+
+    assertSame( runner, pool.borrow() );
+    }
+
+  @Test
+  public void detach()
+    {
+    ParseRunnerPool<Integer> pool = new ParseRunnerPool<>( 1, () -> new ReportingParseRunner<>( root ) );
+
+    AbstractParseRunner<Integer> runner = pool.borrow();
+
+    ParsingResult<Integer> failed = pool.detach( runner.run( "(1(2" ) );
+
+    assertFalse( failed.matched );
+    assertEquals( 1, failed.parseErrors.size() );
+    assertTrue( runner.getParseErrors().isEmpty() );
+
+    ParsingResult<Integer> matched = pool.detach( runner.run( "(1(23)4)" ) );
+
+    assertEquals( 4, (int) matched.resultValue );
+    assertTrue( matched.parseErrors.isEmpty() );
+    assertEquals( 1, failed.parseErrors.size() );
+    }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidSize()
+    {
+    new ParseRunnerPool<Integer>( 0, () -> new ReportingParseRunner<>( root ) );
+    }
+  }
@@ -45,7 +45,7 @@ public abstract class ParserTestCase<V, P extends BaseParser<V>>
   @Before
   public void setUp() throws Exception
     {
-    parser = Parboiled.createParser( getParserGrammarClass() );
+    parser = Parboiled.createParser( getParserGrammarClass(), getParserGrammarArguments() );
     }
 
   protected ParseRunner<V> getRunner()
@@ -60,7 +60,12 @@ public abstract class ParserTestCase<V, P extends BaseParser<V>>
 
   protected abstract Rule getGrammarRoot( P parser );
 
-  protected abstract Class<P> getParserGrammarClass();
+  protected abstract Class<? extends P> getParserGrammarClass();
+
+  protected Object[] getParserGrammarArguments()
+    {
+    return new Object[ 0 ];
+    }
 
   @After
   public void tearDown() throws Exception
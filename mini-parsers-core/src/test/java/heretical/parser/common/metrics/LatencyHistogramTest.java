@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.common.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ */
+public class LatencyHistogramTest
+  {
+  @Test
+  public void percentiles()
+    {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    assertEquals( 0, histogram.getP50() );
+
+    for( long i = 1; i <= 1000; i++ )
+      histogram.record( i * 1000 );
+
+    assertEquals( 1000, histogram.getCount() );
+    assertEquals( 500_500, histogram.getMean(), 0.1 );
+    assertWithin( 500_000, histogram.getP50() );
+    assertWithin( 990_000, histogram.getP99() );
+    assertWithin( 999_000, histogram.getP999() );
+    assertWithin( 1_000_000, histogram.getMax() );
+
+    histogram.reset();
+
+    assertEquals( 0, histogram.getCount() );
+    }
+
+  @Test
+  public void negativeValues()
+    {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    histogram.record( -10 );
+
+    assertEquals( 1, histogram.getCount() );
+    assertEquals( 0, histogram.getMax() );
+    }
+
+  @Test
+  public void mergeAndCopy()
+    {
+    LatencyHistogram first = new LatencyHistogram();
+    LatencyHistogram second = new LatencyHistogram();
+
+    for( long i = 1; i <= 100; i++ )
+      {
+      first.record( i * 1000 );
+      second.record( i * 1000 + 100_000 );
+      }
+
+    LatencyHistogram copy = first.copy();
+
+    first.merge( second );
+
+    assertEquals( 100, copy.getCount() );
+    assertEquals( 200, first.getCount() );
+    assertWithin( 200_000, first.getMax() );
+    assertWithin( 100_000, first.getP50() );
+    assertEquals( copy.getP50(), copy.copy().getP50() );
+    }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidPercentile()
+    {
+    new LatencyHistogram().getValueAtPercentile( 101 );
+    }
+
+  private static void assertWithin( long expected, long actual )
+    {
+    assertTrue( "expected: " + expected + ", got: " + actual, actual >= expected && actual <= expected + expected / 16 );
+    }
+  }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.common.util;
+
+import heretical.parser.common.buffer.CharSequenceInputBuffer;
+import org.junit.Test;
+import org.parboiled.buffers.InputBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ *
+ */
+public class NumbersTest
+  {
+  @Test
+  public void parseLong()
+    {
+    assertEquals( 0, parseLong( "0" ) );
+    assertEquals( 10_000, parseLong( "10,000" ) );
+    assertEquals( 1_000, parseLong( "1,0,0,0" ) );
+    assertEquals( 42, parseLong( "+42" ) );
+    assertEquals( -42, parseLong( "-42" ) );
+    assertEquals( Long.MAX_VALUE, parseLong( "9223372036854775807" ) );
+    assertEquals( Long.MIN_VALUE, parseLong( "-9223372036854775808" ) );
+
+    assertInvalid( "9223372036854775808" );
+    assertInvalid( "-9223372036854775809" );
+    assertInvalid( "99999999999999999999" );
+    assertInvalid( "" );
+    assertInvalid( "-" );
+    assertInvalid( "," );
+    assertInvalid( "1.5" );
+    }
+
+  @Test
+  public void parseInt()
+    {
+    InputBuffer buffer = new CharSequenceInputBuffer( "2147483647 -2147483648 2147483648" );
+
+    assertEquals( Integer.MAX_VALUE, Numbers.parseInt( buffer, 0, 10 ) );
+    assertEquals( Integer.MIN_VALUE, Numbers.parseInt( buffer, 11, 22 ) );
+
+    try
+      {
+      Numbers.parseInt( buffer, 23, 33 );
+      fail();
+      }
+    catch( NumberFormatException exception )
+      {
+      // expected
+      }
+    }
+
+  @Test
+  public void range()
+    {
+    InputBuffer buffer = new CharSequenceInputBuffer( "in 10 days, or 2.5h" );
+
+    assertEquals( 10, Numbers.parseLong( buffer, 3, 5 ) );
+    assertEquals( 2.5, Numbers.parseDouble( buffer, 15, 18 ), 0 );
+    }
+
+  @Test
+  public void parseDouble()
+    {
+    String[] values = {
+      "0", "-0", "0.5", "+0.5", ".5", "-.5", "1,234.5678", "123456789012345", "1234567890123456",
+      "0.1", "0.000000000000000000001", "0.0000000000000000000000001", "3.141592653589793", "1e10", "1.5E-3"
+    };
+
+    for( String value : values )
+      {
+      double expected = Double.parseDouble( value.replace( ",", "" ) );
+
+      assertEquals( value, Double.doubleToLongBits( expected ), Double.doubleToLongBits( parseDouble( value ) ) );
+      }
+
+    try
+      {
+      parseDouble( "1.2.3" );
+      fail();
+      }
+    catch( NumberFormatException exception )
+      {
+      // expected
+      }
+    }
+
+  private static long parseLong( String value )
+    {
+    return Numbers.parseLong( new CharSequenceInputBuffer( value ), 0, value.length() );
+    }
+
+  private static double parseDouble( String value )
+    {
+    return Numbers.parseDouble( new CharSequenceInputBuffer( value ), 0, value.length() );
+    }
+
+  private static void assertInvalid( String value )
+    {
+    try
+      {
+      parseLong( value );
+      fail( value );
+      }
+    catch( NumberFormatException exception )
+      {
+      // expected
+      }
+    }
+  }
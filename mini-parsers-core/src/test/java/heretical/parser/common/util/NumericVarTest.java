@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.common.util;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ */
+public class NumericVarTest
+  {
+  @Test
+  public void integerVar()
+    {
+    IntegerVar integer = new IntegerVar();
+
+    assertTrue( integer.set( "-2,147,483,648" ) );
+    assertEquals( Integer.valueOf( Integer.MIN_VALUE ), integer.get() );
+    assertFalse( integer.set( "2,147,483,648" ) );
+    }
+
+  @Test
+  public void longVar()
+    {
+    LongVar longVar = new LongVar();
+
+    assertTrue( longVar.set( "9,223,372,036,854,775,807" ) );
+    assertEquals( Long.valueOf( Long.MAX_VALUE ), longVar.get() );
+    assertFalse( longVar.set( "9,223,372,036,854,775,808" ) );
+    assertFalse( longVar.set( "," ) );
+    }
+
+  @Test
+  public void doubleVar()
+    {
+    DoubleVar doubleVar = new DoubleVar();
+
+    for( String value : Arrays.asList( "0.1", "-0", "1,234.5678", "3.141592653589793", "12345678901234567890", "0.000000000000000000000001", "1e10", "-.5" ) )
+      {
+      assertTrue( value, doubleVar.set( value ) );
+      assertEquals( value, Double.valueOf( value.replace( ",", "" ) ), doubleVar.get() );
+      }
+
+    assertFalse( doubleVar.set( "1.2.3" ) );
+    }
+  }
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.common.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ */
+public class ThreadLocalVarTest
+  {
+  @Test
+  public void frames()
+    {
+    AtomicInteger created = new AtomicInteger();
+    ThreadLocalVar<Integer> var = new ThreadLocalVar<>( created::incrementAndGet );
+
+    assertEquals( 0, var.getLevel() );
+    assertNull( var.get() );
+
+    var.enterFrame();
+
+    assertEquals( 1, var.getLevel() );
+    assertEquals( 1, (int) var.get() );
+
+    var.set( 10 );
+    var.enterFrame();
+
+    assertEquals( 2, var.getLevel() );
+    assertEquals( 2, (int) var.get() );
+
+    var.exitFrame();
+
+    assertEquals( 1, var.getLevel() );
+    assertEquals( 10, (int) var.get() );
+
+    var.exitFrame();
+
+    assertEquals( 0, var.getLevel() );
+    assertNull( var.get() ); // the last value is not retained
+    }
+
+  @Test
+  public void accessors()
+    {
+    ThreadLocalVar<String> var = new ThreadLocalVar<>();
+
+    var.enterFrame();
+
+    assertTrue( var.isNotSet() );
+    assertEquals( "a", var.setAndGet( "a" ) );
+    assertTrue( var.isSet() );
+    assertEquals( "a", var.getAndSet( "b" ) );
+    assertEquals( "b", var.getAndClear() );
+    assertFalse( var.isSet() );
+
+    var.exitFrame();
+    }
+
+  @Test
+  public void perThread() throws Exception
+    {
+    ThreadLocalVar<String> var = new ThreadLocalVar<>( "initial" );
+
+    var.enterFrame();
+    var.set( "main" );
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try
+      {
+      Future<String> future = executor.submit( () ->
+      {
+      if( var.getLevel() != 0 || var.get() != null )
+        return "leaked: " + var.get();
+
+      var.enterFrame();
+
+      String value = var.get();
+
+      var.set( "other" );
+      var.exitFrame();
+
+      return value;
+      } );
+
+      assertEquals( "initial", future.get() );
+      }
+    finally
+      {
+      executor.shutdownNow();
+      }
+
+    assertEquals( "main", var.get() );
+    assertEquals( 1, var.getLevel() );
+
+    var.exitFrame();
+    }
+  }
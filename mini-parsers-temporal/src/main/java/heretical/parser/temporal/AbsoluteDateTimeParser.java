@@ -10,8 +10,10 @@ package heretical.parser.temporal;
 
 import java.time.Instant;
 
+import heretical.parser.temporal.format.DateTimeFormatFilter;
 import heretical.parser.temporal.grammar.DateTimeGrammar;
 import org.parboiled.Rule;
+import org.parboiled.buffers.InputBuffer;
 
 /**
  * The AbsoluteDateTimeParser class will parse common date time formats, and return an {@link Instant}.
@@ -54,4 +56,19 @@ public class AbsoluteDateTimeParser extends DateTimeParser
     {
     return parser.AbsoluteDateTimeEOI();
     }
+
+  @Override
+  protected boolean hasPrefilter()
+    {
+    return true;
+    }
+
+  /**
+   * Rejects input that can not match any format by its length and char classes, see {@link DateTimeFormatFilter}.
+   */
+  @Override
+  protected boolean mayMatch( InputBuffer inputBuffer, int inputLength )
+    {
+    return DateTimeFormatFilter.getInstance().mayMatch( inputBuffer, inputLength, !isLeanGrammar() );
+    }
   }
@@ -8,24 +8,55 @@
 
 package heretical.parser.temporal;
 
+import java.nio.ByteBuffer;
+import java.util.Collections;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+import heretical.parser.common.BudgetedParseRunner;
+import heretical.parser.common.FastFailParseRunner;
+import heretical.parser.common.ParseBudget;
+import heretical.parser.common.ParseRunnerPool;
 import heretical.parser.common.ParserSyntaxException;
+import heretical.parser.common.buffer.ByteArrayInputBuffer;
+import heretical.parser.common.buffer.ByteBufferInputBuffer;
+import heretical.parser.common.buffer.CharArrayInputBuffer;
+import heretical.parser.common.buffer.CharSequenceInputBuffer;
+import heretical.parser.common.buffer.SliceInputBuffer;
 import heretical.parser.common.expression.Expression;
+import heretical.parser.temporal.event.ParseEvent;
+import heretical.parser.temporal.expression.AbsoluteDateTimeExp;
+import heretical.parser.temporal.format.DateTimeFormats;
 import org.parboiled.BaseParser;
 import org.parboiled.Parboiled;
 import org.parboiled.Rule;
+import org.parboiled.buffers.DefaultInputBuffer;
+import org.parboiled.buffers.InputBuffer;
+import org.parboiled.errors.ParserRuntimeException;
+import org.parboiled.parserunners.AbstractParseRunner;
 import org.parboiled.parserunners.ParseRunner;
 import org.parboiled.parserunners.ReportingParseRunner;
+import org.parboiled.support.DefaultValueStack;
 import org.parboiled.support.ParsingResult;
 
 /**
- *
+ * The base of all temporal parsers.
+ * <p>
+ * Parsers are thread-safe, a single instance may be shared by all threads. The grammar is built on first use
+ * and shared by all instances of the same parser class via the {@link GrammarRegistry}, and every parse creates
+ * its own parse runner, value stack, and expression instances.
  */
 public abstract class BaseTemporalExpressionParser<R, E extends Expression, G extends BaseParser<E>>
   {
+  // every access to the result of a prefiltered parse reports its errors first, so it is never handed out
+  private static final ParsingResult<?> PREFILTERED = new ParsingResult<>( false, null, new DefaultValueStack<>(), Collections.emptyList(), new DefaultInputBuffer( new char[ 0 ] ) );
+
   private final Context context;
-  private Rule grammar;
+  private volatile long createParserNanos = -1;
+  private volatile long grammarNanos = -1;
+  private volatile long firstRunNanos = -1;
+  private volatile ParserSettings settings = new ParserSettings();
 
   public BaseTemporalExpressionParser()
     {
@@ -37,6 +68,31 @@ public abstract class BaseTemporalExpressionParser<R, E extends Expression, G ex
     this.context = context;
     }
 
+  /**
+   * Publishes a changed copy of the current settings, so a parse in progress keeps the settings it started with.
+   * <p>
+   * The copy looks up its grammar on first use, and pools its own runners if pooling is enabled.
+   */
+  void update( Consumer<ParserSettings> change )
+    {
+    synchronized( this )
+      {
+      ParserSettings copy = new ParserSettings( settings );
+
+      change.accept( copy );
+
+      if( copy.parserRunnerPoolSize != 0 )
+        copy.parserRunnerPool = new ParseRunnerPool<>( copy.parserRunnerPoolSize, () -> createParserRunner( getGrammar( copy ), copy ) );
+
+      settings = copy;
+      }
+    }
+
+  ParserSettings getSettings()
+    {
+    return settings;
+    }
+
   public Context getContext()
     {
     return context;
@@ -44,37 +100,591 @@ public abstract class BaseTemporalExpressionParser<R, E extends Expression, G ex
 
   protected abstract Class<G> getParserClass();
 
+  /**
+   * @return the grammar class whose spacing skips comments, or {@code null} if this parser has none
+   */
+  protected Class<? extends G> getLeanParserClass()
+    {
+    return null;
+    }
+
+  /**
+   * @return the grammar class the rules of this parser are built from, see {@link #setLeanGrammar(boolean)}
+   */
+  Class<? extends G> getGrammarClass( ParserSettings settings )
+    {
+    Class<? extends G> leanParserClass = settings.leanGrammar ? getLeanParserClass() : null;
+
+    return leanParserClass != null ? leanParserClass : getParserClass();
+    }
+
+  /**
+   * @return the arguments the grammar class is constructed with, part of the {@link GrammarRegistry} key
+   */
+  Object[] getGrammarArguments( ParserSettings settings )
+    {
+    return new Object[ 0 ];
+    }
+
+  /**
+   * @return a grammar parser for the current settings
+   */
   protected G createParser()
     {
-    return Parboiled.createParser( getParserClass() );
+    return createParser( settings );
+    }
+
+  G createParser( ParserSettings settings )
+    {
+    return Parboiled.createParser( getGrammarClass( settings ), getGrammarArguments( settings ) );
     }
 
   protected abstract Rule getGrammar( G parser );
 
+  /**
+   * Returns the time spent creating the Parboiled parser, building the grammar rules, and running the first parse.
+   * <p>
+   * Phases that have not happened yet are {@code -1}, call {@link #parse(String)} once to populate them all.
+   * The creation and grammar timings are those of the parser that built the grammar held by the {@link GrammarRegistry}.
+   */
+  public ColdStartTimings getColdStartTimings()
+    {
+    return new ColdStartTimings( createParserNanos, grammarNanos, firstRunNanos );
+    }
+
+  public ParseLatency getParseLatency()
+    {
+    return settings.parseLatency;
+    }
+
+  /**
+   * Sets the histograms the match and conversion phases of every parse will be recorded into, {@code null} by default.
+   */
+  public void setParseLatency( ParseLatency parseLatency )
+    {
+    update( settings -> settings.parseLatency = parseLatency );
+    }
+
+  public ParseCounters getParseCounters()
+    {
+    return settings.parseCounters;
+    }
+
+  /**
+   * Sets the counters every parse and conversion will be counted into, {@code null} by default.
+   */
+  public void setParseCounters( ParseCounters parseCounters )
+    {
+    update( settings -> settings.parseCounters = parseCounters );
+    }
+
+  public ParseProfiler getParseProfiler()
+    {
+    return settings.parseProfiler;
+    }
+
+  /**
+   * Sets the profiler a sample of all parses will be profiled by, {@code null} by default.
+   * <p>
+   * A sampled parse is matched by the profiler instead of the runner of this parser, so it is neither bounded by
+   * the {@link ParseBudget} nor counted into any format stats, and a sampled input that fails to match is matched
+   * a second time by the runner of this parser, for its errors. Profile with a sample rate well above 1.
+   */
+  public void setParseProfiler( ParseProfiler parseProfiler )
+    {
+    update( settings -> settings.parseProfiler = parseProfiler );
+    }
+
+  public ParseListener getParseListener()
+    {
+    return settings.parseListener;
+    }
+
+  /**
+   * Sets the listener notified of every parse and conversion, {@code null} by default.
+   */
+  public void setParseListener( ParseListener parseListener )
+    {
+    update( settings -> settings.parseListener = parseListener );
+    }
+
+  public boolean isFastFail()
+    {
+    return settings.fastFail;
+    }
+
+  /**
+   * When true, a failed parse skips the error locating and reporting runs of the input, the errors of the
+   * returned result are only reported when first asked for, false by default.
+   */
+  public void setFastFail( boolean fastFail )
+    {
+    update( settings -> settings.fastFail = fastFail );
+    }
+
+  public ParseBudget getParseBudget()
+    {
+    return settings.parseBudget;
+    }
+
+  /**
+   * Sets the most matcher steps, or time, the match of a single parse may take, {@code null}, the default, is
+   * unbounded. A parse exceeding the budget fails with {@link ParseStatus#BUDGET_EXCEEDED} without reporting
+   * any syntax errors, see {@link BudgetedParseRunner}.
+   */
+  public void setParseBudget( ParseBudget parseBudget )
+    {
+    update( settings -> settings.parseBudget = parseBudget );
+    }
+
+  public boolean isPrefilter()
+    {
+    return settings.prefilter;
+    }
+
+  /**
+   * When true, every input is first checked by {@link #mayMatch(InputBuffer, int)} in a single pass, an input that
+   * can not match fails without entering the grammar, its errors are only reported when first asked for,
+   * false by default.
+   *
+   * @throws UnsupportedOperationException if enabled on a parser without a prefilter, see {@link #hasPrefilter()}
+   */
+  public void setPrefilter( boolean prefilter )
+    {
+    if( prefilter && !hasPrefilter() )
+      throw new UnsupportedOperationException( "prefilter not supported by: " + getClass().getName() );
+
+    update( settings -> settings.prefilter = prefilter );
+    }
+
+  /**
+   * @return true if this parser overrides {@link #mayMatch(InputBuffer, int)}, false by default
+   */
+  protected boolean hasPrefilter()
+    {
+    return false;
+    }
+
+  /**
+   * Returns false if the given input can not possibly match the grammar, see {@link #setPrefilter(boolean)}.
+   * <p>
+   * Must be cheap and conservative, by default every input may match.
+   */
+  protected boolean mayMatch( InputBuffer inputBuffer, int inputLength )
+    {
+    return true;
+    }
+
+  public boolean isDebug()
+    {
+    return settings.debug;
+    }
+
+  /**
+   * When true, a {@link DetachedResult} retains the full Parboiled parse result, false by default.
+   */
+  public void setDebug( boolean debug )
+    {
+    update( settings -> settings.debug = debug );
+    }
+
+  public boolean isEagerConversion()
+    {
+    return settings.eagerConversion;
+    }
+
+  /**
+   * When true, a matched expression is converted during the parse, instead of on the first call to
+   * {@link TemporalResult#getResult()}, false by default. A conversion failure is still only thrown by getResult().
+   */
+  public void setEagerConversion( boolean eagerConversion )
+    {
+    update( settings -> settings.eagerConversion = eagerConversion );
+    }
+
+  public boolean isLeanGrammar()
+    {
+    return settings.leanGrammar;
+    }
+
+  /**
+   * When true, the grammar only allows whitespace between terms, instead of whitespace and comments, so every
+   * term tests fewer alternatives, false by default.
+   * <p>
+   * The lean grammar is registered separately with the {@link GrammarRegistry}, it is built on first use.
+   */
+  public void setLeanGrammar( boolean leanGrammar )
+    {
+    update( settings -> settings.leanGrammar = leanGrammar );
+    }
+
+  /**
+   * Drops the grammar and all pooled parse runners, must be called by subclasses when a setting the grammar is
+   * built from changes, every setting changed through this class drops them already.
+   */
+  protected void resetGrammar()
+    {
+    update( settings ->
+    {
+    } );
+    }
+
+  public int getParserRunnerPoolSize()
+    {
+    return settings.parserRunnerPoolSize;
+    }
+
+  /**
+   * Sets the number of parse runners each thread keeps for reuse by this parser, {@code 0}, the default, creates
+   * a new runner for every parse.
+   * <p>
+   * Only {@link org.parboiled.support.ParsingResult#resultValue} and the parse errors of a result are retained once
+   * its runner is reused, see {@link ParseRunnerPool}.
+   */
+  public void setParserRunnerPoolSize( int parserRunnerPoolSize )
+    {
+    if( parserRunnerPoolSize < 0 )
+      throw new IllegalArgumentException( "parserRunnerPoolSize may not be negative, got: " + parserRunnerPoolSize );
+
+    update( settings -> settings.parserRunnerPoolSize = parserRunnerPoolSize );
+    }
+
+  /**
+   * Drops all pooled parse runners, must be called by subclasses when a setting used by
+   * {@link #createParserRunner(Rule)} changes, every setting changed through this class drops them already.
+   */
+  protected void resetParserRunnerPool()
+    {
+    update( settings ->
+    {
+    } );
+    }
+
   protected ParseRunner<E> getParserRunner()
     {
-    if( grammar == null )
-      grammar = getGrammar( createParser() );
+    return createParserRunner( getGrammar() ); // create new runner so we don't accumulate any stats etc
+    }
 
-    return createParserRunner( grammar ); // create new runner so we don't accumulate any stats etc
+  protected Rule getGrammar()
+    {
+    return getGrammar( settings );
+    }
+
+  private Rule getGrammar( ParserSettings settings )
+    {
+    Rule result = settings.grammar;
+
+    if( result != null )
+      return result;
+
+    GrammarRegistry.Entry entry = GrammarRegistry.getInstance().get( this, settings );
+
+    grammarNanos = entry.grammarNanos;
+    createParserNanos = entry.createParserNanos;
+    settings.grammar = entry.grammar;
+
+    return entry.grammar;
     }
 
   protected abstract BiFunction<Context, E, R> getFunction();
 
+  /**
+   * @return the function converting the expressions matched by a parse with the given settings
+   */
+  BiFunction<Context, E, R> getFunction( ParserSettings settings )
+    {
+    return getFunction();
+    }
+
   protected ReportingParseRunner<E> createParserRunner( Rule grammar )
     {
+    return createParserRunner( grammar, settings );
+    }
+
+  ReportingParseRunner<E> createParserRunner( Rule grammar, ParserSettings settings )
+    {
+    ParseBudget budget = settings.parseBudget;
+
+    if( budget != null )
+      return new BudgetedParseRunner<>( grammar, budget, settings.fastFail );
+
+    if( settings.fastFail )
+      return new FastFailParseRunner<>( grammar );
+
+    return new ReportingParseRunner<>( grammar );
+    }
+
+  /**
+   * Creates the runner reporting the deferred errors of a fast failed or prefiltered parse, it is bounded by the
+   * {@link ParseBudget} of the parse but neither fast fails nor counts into any stats.
+   */
+  private ReportingParseRunner<E> createErrorReportingRunner( Rule grammar, ParserSettings settings )
+    {
+    ParseBudget budget = settings.parseBudget;
+
+    if( budget != null )
+      return new BudgetedParseRunner<>( grammar, budget );
+
     return new ReportingParseRunner<>( grammar );
     }
 
   public TemporalResult<E, R> parse( String string )
     {
-    long start = System.currentTimeMillis();
+    return parse( new DefaultInputBuffer( string.toCharArray() ), string.length() );
+    }
 
-    ParsingResult<E> result = getParserRunner().run( string );
+  /**
+   * Parses the given sequence in place, such as a {@link java.nio.CharBuffer}, without copying it to a String.
+   * <p>
+   * The sequence must not be modified during the parse, a failed parse retains a copy of the input.
+   */
+  public TemporalResult<E, R> parse( CharSequence sequence )
+    {
+    return parse( new CharSequenceInputBuffer( sequence ), sequence.length() );
+    }
 
-    long parseDuration = System.currentTimeMillis() - start;
+  /**
+   * Parses the given range of the array in place, without copying it to a String.
+   * <p>
+   * The array must not be modified during the parse, a failed parse retains a copy of the input.
+   */
+  public TemporalResult<E, R> parse( char[] chars, int offset, int length )
+    {
+    return parse( new CharArrayInputBuffer( chars, offset, length ), length );
+    }
 
-    return new TemporalResult<>( result, parseDuration, context, (BiFunction<Context, Expression, R>) getFunction() );
+  /**
+   * Parses the given range of UTF-8, or ASCII, bytes in place, without decoding them to a String.
+   * <p>
+   * Only input holding characters beyond ASCII is decoded, see {@link ByteArrayInputBuffer#utf8(byte[], int, int)}.
+   * The array must not be modified during the parse, a failed parse retains a copy of the input.
+   */
+  public TemporalResult<E, R> parse( byte[] bytes, int offset, int length )
+    {
+    SliceInputBuffer inputBuffer = ByteArrayInputBuffer.utf8( bytes, offset, length );
+
+    return parse( inputBuffer, inputBuffer.length() );
+    }
+
+  /**
+   * Parses the remaining UTF-8, or ASCII, bytes of the given buffer in place, without decoding them to a String,
+   * the buffer position is left unchanged.
+   * <p>
+   * Only input holding characters beyond ASCII is decoded, see {@link ByteBufferInputBuffer#utf8(ByteBuffer)}.
+   * The buffer must not be modified during the parse, a failed parse retains a copy of the input.
+   */
+  public TemporalResult<E, R> parse( ByteBuffer bytes )
+    {
+    SliceInputBuffer inputBuffer = ByteBufferInputBuffer.utf8( bytes );
+
+    return parse( inputBuffer, inputBuffer.length() );
+    }
+
+  protected TemporalResult<E, R> parse( InputBuffer inputBuffer, int inputLength )
+    {
+    ParserSettings settings = this.settings;
+    ParseRunnerPool<E> pool = poolOf( settings );
+
+    // the grammar is built on first use, so get it and the runner before the clock starts, only the match is timed
+    Rule grammar = getGrammar( settings );
+    AbstractParseRunner<E> pooledRunner = pool == null ? null : pool.borrow();
+    ParseRunner<E> parserRunner = pool == null ? createParserRunner( grammar, settings ) : pooledRunner;
+
+    ParseEvent event = ParseEvent.isRecording() ? new ParseEvent() : null;
+
+    if( event != null )
+      event.begin();
+
+    long start = System.nanoTime();
+
+    ParsingResult<E> result;
+
+    if( settings.prefilter && !mayMatch( inputBuffer, inputLength ) )
+      {
+      // fails as a fast failed parse, the errors are only reported when first asked for
+      result = prefiltered();
+      }
+    else
+      {
+      result = run( settings.parseProfiler, grammar, parserRunner, inputBuffer );
+
+      if( pool != null )
+        result = pool.detach( result );
+      }
+
+    long parseDuration = System.nanoTime() - start;
+
+    if( pool != null )
+      pool.release( pooledRunner );
+
+    if( event != null && event.shouldCommit() )
+      {
+      event.parserClass = getClass();
+      event.expression = describe( result.resultValue );
+      event.inputLength = inputLength;
+      event.success = result.matched;
+      event.commit();
+      }
+
+    if( firstRunNanos == -1 )
+      firstRunNanos = parseDuration;
+
+    ParseLatency latency = settings.parseLatency;
+
+    if( latency != null )
+      latency.getMatch().record( parseDuration );
+
+    ParseCounters counters = settings.parseCounters;
+
+    if( counters != null )
+      counters.parsed( result.matched );
+
+    Supplier<ParsingResult<E>> errorReporter = null;
+
+    if( !result.matched )
+      {
+      // the result and its errors outlive the parse, don't retain a slice of an input the caller may reuse
+      if( inputBuffer instanceof SliceInputBuffer )
+        ( (SliceInputBuffer) inputBuffer ).detach();
+
+      if( !result.hasErrors() )
+        errorReporter = () -> createErrorReportingRunner( grammar, settings ).run( inputBuffer );
+      }
+
+    TemporalResult<E, R> temporalResult = new TemporalResult<>( this, settings, result, inputLength, parseDuration, errorReporter );
+
+    if( settings.eagerConversion && result.matched )
+      temporalResult.convert();
+
+    ParseListener listener = settings.parseListener;
+
+    if( listener != null )
+      notify( listener, temporalResult );
+
+    return temporalResult;
+    }
+
+  @SuppressWarnings("unchecked")
+  private static <E> ParseRunnerPool<E> poolOf( ParserSettings settings )
+    {
+    return (ParseRunnerPool<E>) settings.parserRunnerPool;
+    }
+
+  @SuppressWarnings("unchecked")
+  private static <E> ParsingResult<E> prefiltered()
+    {
+    return (ParsingResult<E>) PREFILTERED;
+    }
+
+  private void notify( ParseListener listener, TemporalResult<E, R> result )
+    {
+    if( result.matched() )
+      listener.onMatched( this, result.getExpression(), formatOf( result.getExpression() ) );
+    else
+      listener.onSyntaxError( this, result );
+
+    listener.onComplete( this, result.matched(), result.getParseDurationNanos() );
+    }
+
+  private ParsingResult<E> run( ParseProfiler profiler, Rule grammar, ParseRunner<E> parserRunner, InputBuffer inputBuffer )
+    {
+    if( profiler == null || !profiler.sample() )
+      return parserRunner.run( inputBuffer );
+
+    ParsingResult<E> result = profiler.run( grammar, inputBuffer );
+
+    if( result.matched )
+      return result;
+
+    return parserRunner.run( inputBuffer );
+    }
+
+  static DateTimeFormats.DateTimeParser formatOf( Expression expression )
+    {
+    if( expression instanceof AbsoluteDateTimeExp )
+      return ( (AbsoluteDateTimeExp) expression ).getParser();
+
+    return null;
+    }
+
+  static String describe( Expression expression )
+    {
+    if( expression == null )
+      return null;
+
+    DateTimeFormats.DateTimeParser format = formatOf( expression );
+
+    if( format != null )
+      return format.name();
+
+    return expression.getClass().getSimpleName();
+    }
+
+  /**
+   * Parses and converts the given string, returning an immutable result holding only the value, the matched
+   * format, and any error offsets, see {@link TemporalResult#detach()}.
+   */
+  public DetachedResult<R> parseDetached( String string )
+    {
+    return parse( string ).detach();
+    }
+
+  /**
+   * Parses and converts the given string without throwing on a syntax or conversion error, the status and value
+   * are returned through the given reusable holder.
+   * <p>
+   * Conversions run as if the {@link Context} had stackless exceptions, see {@link Context#setStacklessExceptions(boolean)}.
+   * Combine with {@link #setFastFail(boolean)} so syntax errors skip error reporting as well.
+   *
+   * @return the status, also held by the holder
+   */
+  public ParseStatus tryParse( String string, ParseHolder<R> holder )
+    {
+    return tryParse( () -> parse( string ), holder );
+    }
+
+  /**
+   * See {@link #tryParse(String, ParseHolder)} and {@link #parse(CharSequence)}.
+   */
+  public ParseStatus tryParse( CharSequence sequence, ParseHolder<R> holder )
+    {
+    return tryParse( () -> parse( sequence ), holder );
+    }
+
+  /**
+   * See {@link #tryParse(String, ParseHolder)} and {@link #parse(byte[], int, int)}.
+   */
+  public ParseStatus tryParse( byte[] bytes, int offset, int length, ParseHolder<R> holder )
+    {
+    return tryParse( () -> parse( bytes, offset, length ), holder );
+    }
+
+  private ParseStatus tryParse( Supplier<TemporalResult<E, R>> parse, ParseHolder<R> holder )
+    {
+    TemporalResult<E, R> result;
+
+    try
+      {
+      result = parse.get();
+      }
+    catch( ParserRuntimeException exception )
+      {
+      // Parboiled wraps any exception thrown by a grammar action, the built in grammars only capture numbers and
+      // fail the action on an out of range value instead, so this is an expression setter, or the action of a
+      // subclassed grammar, throwing on a value the grammar did match, which is a conversion error
+      return holder.set( ParseStatus.CONVERSION_ERROR, null, null );
+      }
+
+    // the failure is never thrown to the caller, so convert without capturing its stack
+    if( result.matched() )
+      result.convert( context.stackless() );
+
+    ParseStatus status = result.getStatus();
+
+    if( status != ParseStatus.OK )
+      return holder.set( status, null, null );
+
+    return holder.set( status, result.getResult(), formatOf( result.getExpression() ) );
     }
 
   public TemporalResult<E, R> parseOrFail( String string ) throws ParserSyntaxException
@@ -82,8 +692,20 @@ public abstract class BaseTemporalExpressionParser<R, E extends Expression, G ex
     TemporalResult<E, R> parseResult = parse( string );
 
     if( parseResult.hasErrors() )
-      throw new ParserSyntaxException( parseResult );
+      throw new ParserSyntaxException( parseResult, !context.isStacklessExceptions() );
 
     return parseResult;
     }
+
+  /**
+   * Parses the given string and returns the matched expression unconverted, so subclasses may resolve it to a
+   * primitive value.
+   * <p>
+   * Conversions of the returned expression are not counted by the {@link ParseCounters}, nor recorded by the
+   * {@link ParseLatency} or {@link ParseListener}.
+   */
+  protected E parseExpressionOrFail( String string ) throws ParserSyntaxException
+    {
+    return parseOrFail( string ).getExpression();
+    }
   }
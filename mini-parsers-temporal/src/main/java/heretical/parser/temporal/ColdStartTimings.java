@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal;
+
+/**
+ * The time spent by a parser before and during its first parse, in nanoseconds.
+ * <p>
+ * {@link #getCreateParserNanos()} is the Parboiled bytecode generation of the grammar class,
+ * {@link #getGrammarNanos()} is the construction of the grammar rule tree, and
+ * {@link #getFirstRunNanos()} is the first run of the grammar against an input.
+ * <p>
+ * A phase that has not happened yet is reported as {@code -1}.
+ */
+public class ColdStartTimings
+  {
+  private final long createParserNanos;
+  private final long grammarNanos;
+  private final long firstRunNanos;
+
+  public ColdStartTimings( long createParserNanos, long grammarNanos, long firstRunNanos )
+    {
+    this.createParserNanos = createParserNanos;
+    this.grammarNanos = grammarNanos;
+    this.firstRunNanos = firstRunNanos;
+    }
+
+  public long getCreateParserNanos()
+    {
+    return createParserNanos;
+    }
+
+  public long getGrammarNanos()
+    {
+    return grammarNanos;
+    }
+
+  public long getFirstRunNanos()
+    {
+    return firstRunNanos;
+    }
+
+  public boolean isComplete()
+    {
+    return createParserNanos != -1 && grammarNanos != -1 && firstRunNanos != -1;
+    }
+
+  /**
+   * @return the sum of all completed phases
+   */
+  public long getTotalNanos()
+    {
+    return Math.max( createParserNanos, 0 ) + Math.max( grammarNanos, 0 ) + Math.max( firstRunNanos, 0 );
+    }
+
+  @Override
+  public String toString()
+    {
+    return "ColdStartTimings{" +
+      "createParserNanos=" + createParserNanos +
+      ", grammarNanos=" + grammarNanos +
+      ", firstRunNanos=" + firstRunNanos +
+      '}';
+    }
+  }
@@ -29,6 +29,8 @@ public class Context
 
   Clock clock = Clock.systemUTC();
   Locale locale = DEFAULT_LOCALE;
+  volatile boolean stacklessExceptions;
+  private volatile Context stacklessContext;
 
   /**
    * Uses sane defaults, for testing and simple usage
@@ -105,6 +107,43 @@ public class Context
     return locale;
     }
 
+  public boolean isStacklessExceptions()
+    {
+    return stacklessExceptions;
+    }
+
+  /**
+   * When true, the {@link heretical.parser.common.ParserSyntaxException} and {@link DateTimeFormatParseException}
+   * thrown by parsers using this context skip capturing their stack trace, false by default.
+   * <p>
+   * The messages of both are always built lazily, when first asked for. Exceptions thrown by {@code java.time}
+   * while converting a match still capture their stack, see {@link heretical.parser.temporal.expression.AbsoluteDateTimeExp}.
+   */
+  public void setStacklessExceptions( boolean stacklessExceptions )
+    {
+    this.stacklessExceptions = stacklessExceptions;
+    }
+
+  /**
+   * @return this context if its exceptions are stackless, otherwise a stackless copy with the same clock and locale
+   */
+  Context stackless()
+    {
+    if( stacklessExceptions )
+      return this;
+
+    Context current = stacklessContext;
+
+    if( current == null )
+      {
+      current = new Context( clock, locale );
+      current.stacklessExceptions = true;
+      stacklessContext = current;
+      }
+
+    return current;
+    }
+
   /**
    * @return the week field for the locale
    */
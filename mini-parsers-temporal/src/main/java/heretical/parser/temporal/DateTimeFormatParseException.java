@@ -8,16 +8,26 @@
 
 package heretical.parser.temporal;
 
+import heretical.parser.temporal.format.DateTimeFormats;
+
 /**
  * The DateTimeFormatParseException class is thrown when a date time format string cannot be parsed.
  */
 public class DateTimeFormatParseException extends RuntimeException
   {
+  private static final long serialVersionUID = 1L;
+
+  private final String value;
+  private final DateTimeFormats.DateTimeParser format;
+  private volatile String message;
+
   /**
    * Creates a new DateTimeFormatParseException instance.
    */
   public DateTimeFormatParseException()
     {
+    this.value = null;
+    this.format = null;
     }
 
   /**
@@ -26,6 +36,8 @@ public class DateTimeFormatParseException extends RuntimeException
   public DateTimeFormatParseException( String message )
     {
     super( message );
+    this.value = null;
+    this.format = null;
     }
 
   /**
@@ -35,6 +47,8 @@ public class DateTimeFormatParseException extends RuntimeException
   public DateTimeFormatParseException( String message, Throwable cause )
     {
     super( message, cause );
+    this.value = null;
+    this.format = null;
     }
 
   /**
@@ -43,6 +57,8 @@ public class DateTimeFormatParseException extends RuntimeException
   public DateTimeFormatParseException( Throwable cause )
     {
     super( cause );
+    this.value = null;
+    this.format = null;
     }
 
   /**
@@ -54,5 +70,55 @@ public class DateTimeFormatParseException extends RuntimeException
   public DateTimeFormatParseException( String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace )
     {
     super( message, cause, enableSuppression, writableStackTrace );
+    this.value = null;
+    this.format = null;
+    }
+
+  /**
+   * The message, which renders the whole formatter, is only built when first asked for.
+   *
+   * @param value              of type String
+   * @param format             of type DateTimeFormats.DateTimeParser
+   * @param cause              of type Throwable
+   * @param writableStackTrace of type boolean, false skips capturing the stack trace
+   */
+  public DateTimeFormatParseException( String value, DateTimeFormats.DateTimeParser format, Throwable cause, boolean writableStackTrace )
+    {
+    super( null, cause, writableStackTrace, writableStackTrace );
+    this.value = value;
+    this.format = format;
+    }
+
+  /**
+   * @return the value that could not be parsed, if given
+   */
+  public String getValue()
+    {
+    return value;
+    }
+
+  /**
+   * @return the format the value could not be parsed by, if given
+   */
+  public DateTimeFormats.DateTimeParser getFormat()
+    {
+    return format;
+    }
+
+  @Override
+  public String getMessage()
+    {
+    if( format == null )
+      return super.getMessage();
+
+    String current = message;
+
+    if( current == null )
+      {
+      current = "could not parse: " + value + ", using: " + format.getPattern() + ", having: " + format.getParser();
+      message = current;
+      }
+
+    return current;
     }
   }
@@ -9,13 +9,23 @@
 package heretical.parser.temporal;
 
 import java.time.Instant;
+import java.util.EnumSet;
 import java.util.function.BiFunction;
 
+import heretical.parser.common.ParseBudget;
+import heretical.parser.common.ParserSyntaxException;
+import heretical.parser.temporal.expression.AbsoluteDateTimeExp;
 import heretical.parser.temporal.expression.DateTimeExp;
+import heretical.parser.temporal.format.DateTimeFormatStats;
+import heretical.parser.temporal.format.DateTimeFormatStatsParseRunner;
 import heretical.parser.temporal.grammar.DateTimeGrammar;
+import heretical.parser.temporal.grammar.DateTimeGrammarOption;
+import heretical.parser.temporal.grammar.LeanDateTimeGrammar;
+import org.parboiled.Rule;
+import org.parboiled.parserunners.ReportingParseRunner;
 
 /**
- * This class is not thread-safe.
+ * This class is thread-safe.
  */
 public abstract class DateTimeParser extends BaseTemporalExpressionParser<Instant, DateTimeExp, DateTimeGrammar>
   {
@@ -34,9 +44,125 @@ public abstract class DateTimeParser extends BaseTemporalExpressionParser<Instan
     return DateTimeGrammar.class;
     }
 
+  @Override
+  protected Class<LeanDateTimeGrammar> getLeanParserClass()
+    {
+    return LeanDateTimeGrammar.class;
+    }
+
+  /**
+   * @return the {@link DateTimeGrammarOption} set the grammar is built with, or no arguments when none apply so
+   * the default grammar is shared with every parser using none
+   */
+  @Override
+  Object[] getGrammarArguments( ParserSettings settings )
+    {
+    EnumSet<DateTimeGrammarOption> options = EnumSet.noneOf( DateTimeGrammarOption.class );
+
+    if( settings.formatStats != null )
+      options.add( DateTimeGrammarOption.formatMatchers );
+
+    if( settings.packratFormats )
+      options.add( DateTimeGrammarOption.packrat );
+
+    if( options.isEmpty() )
+      return super.getGrammarArguments( settings );
+
+    return new Object[]{options};
+    }
+
+  public boolean isPackratFormats()
+    {
+    return getSettings().packratFormats;
+    }
+
+  /**
+   * When true, the rule of every format symbol is shared by all formats and memoizes its result at each input
+   * index, so a format failing late does not cost the formats sharing its prefix a second match, false by default.
+   * <p>
+   * The memoized grammar is registered separately with the {@link GrammarRegistry}, it is built on first use.
+   */
+  public void setPackratFormats( boolean packratFormats )
+    {
+    update( settings -> settings.packratFormats = packratFormats );
+    }
+
+  public DateTimeFormatStats getFormatStats()
+    {
+    return getSettings().formatStats;
+    }
+
+  /**
+   * Sets the stats every format attempt, match, and conversion failure will be counted into, {@code null} by default.
+   * <p>
+   * Counting needs every format rule marked, so the grammar is built again, and registered separately with the
+   * {@link GrammarRegistry}, when stats are first set or cleared. Parses sampled by a {@link ParseProfiler} are not
+   * counted, see {@link #setParseProfiler(ParseProfiler)}.
+   */
+  public void setFormatStats( DateTimeFormatStats formatStats )
+    {
+    update( settings -> settings.formatStats = formatStats );
+    }
+
+  @Override
+  ReportingParseRunner<DateTimeExp> createParserRunner( Rule grammar, ParserSettings settings )
+    {
+    DateTimeFormatStats stats = settings.formatStats;
+
+    if( stats == null )
+      return super.createParserRunner( grammar, settings );
+
+    ParseBudget budget = settings.parseBudget;
+
+    return new DateTimeFormatStatsParseRunner<>( grammar, stats, settings.fastFail, budget == null ? ParseBudget.UNLIMITED : budget );
+    }
+
   @Override
   protected BiFunction<Context, DateTimeExp, Instant> getFunction()
     {
-    return ( context, expression ) -> expression.toInstant( context );
+    return getFunction( getSettings() );
+    }
+
+  @Override
+  BiFunction<Context, DateTimeExp, Instant> getFunction( ParserSettings settings )
+    {
+    DateTimeFormatStats stats = settings.formatStats;
+
+    if( stats == null )
+      return ( context, expression ) -> expression.toInstant( context );
+
+    return ( context, expression ) ->
+    {
+    try
+      {
+      return expression.toInstant( context );
+      }
+    catch( RuntimeException exception )
+      {
+      if( expression instanceof AbsoluteDateTimeExp )
+        stats.conversionFailed( ( (AbsoluteDateTimeExp) expression ).getParser() );
+
+      throw exception;
+      }
+    };
+    }
+
+  /**
+   * Parses the given string into milliseconds since the epoch, without building an {@link Instant} or any
+   * intermediate date time where the context clock zone has a fixed offset.
+   */
+  public long parseToEpochMillis( String string ) throws ParserSyntaxException
+    {
+    return parseExpressionOrFail( string ).toEpochMillis( getContext() );
+    }
+
+  /**
+   * Parses the given string into nanoseconds since the epoch, see {@link #parseToEpochMillis(String)}.
+   *
+   * @throws ArithmeticException if the instant is beyond the range of a long in nanoseconds
+   */
+  public long parseToEpochNanos( String string ) throws ParserSyntaxException
+    {
+    return parseExpressionOrFail( string ).toEpochNanos( getContext() );
     }
   }
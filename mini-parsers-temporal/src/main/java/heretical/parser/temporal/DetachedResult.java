@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import heretical.parser.temporal.format.DateTimeFormats;
+import org.parboiled.support.ParsingResult;
+
+/**
+ * The immutable outcome of a parse and conversion, holding only the status, the converted value, the matched
+ * format, the error offsets of a failed parse, and the exception of a failed conversion.
+ * <p>
+ * Unlike {@link TemporalResult} it retains none of the Parboiled parse state, the expression, or the parser, so
+ * it is cheap to buffer. The {@link ParsingResult} is only retained when the parser is in debug mode,
+ * see {@link BaseTemporalExpressionParser#setDebug(boolean)}.
+ */
+public final class DetachedResult<R>
+  {
+  private static final int[] NONE = new int[ 0 ];
+
+  private final ParseStatus status;
+  private final boolean matched;
+  private final R value;
+  private final DateTimeFormats.DateTimeParser format;
+  private final int[] errorOffsets;
+  private final RuntimeException failure;
+  private final ParsingResult<?> parsingResult;
+
+  static <R> DetachedResult<R> matched( R value, DateTimeFormats.DateTimeParser format, ParsingResult<?> parsingResult )
+    {
+    return new DetachedResult<>( ParseStatus.OK, true, value, format, NONE, null, parsingResult );
+    }
+
+  static <R> DetachedResult<R> failed( ParseStatus status, int[] errorOffsets, ParsingResult<?> parsingResult )
+    {
+    return new DetachedResult<>( status, false, null, null, errorOffsets, null, parsingResult );
+    }
+
+  static <R> DetachedResult<R> failed( ParseStatus status, DateTimeFormats.DateTimeParser format, RuntimeException failure, ParsingResult<?> parsingResult )
+    {
+    return new DetachedResult<>( status, true, null, format, NONE, failure, parsingResult );
+    }
+
+  private DetachedResult( ParseStatus status, boolean matched, R value, DateTimeFormats.DateTimeParser format, int[] errorOffsets, RuntimeException failure, ParsingResult<?> parsingResult )
+    {
+    this.status = status;
+    this.matched = matched;
+    this.value = value;
+    this.format = format;
+    this.errorOffsets = errorOffsets;
+    this.failure = failure;
+    this.parsingResult = parsingResult;
+    }
+
+  public ParseStatus getStatus()
+    {
+    return status;
+    }
+
+  /**
+   * @return true if the input matched the grammar, the conversion may still have failed, see {@link #getStatus()}
+   */
+  public boolean matched()
+    {
+    return matched;
+    }
+
+  /**
+   * @return the converted value, or {@code null} if the input did not match or could not be converted
+   */
+  public R getValue()
+    {
+    return value;
+    }
+
+  /**
+   * @return the format the input matched, only set by the {@link DateTimeParser} subclasses
+   */
+  public DateTimeFormats.DateTimeParser getFormat()
+    {
+    return format;
+    }
+
+  /**
+   * @return the start index of every parse error, or {@code null} if the errors of a fast failed parse were
+   * never reported, see {@link BaseTemporalExpressionParser#setFastFail(boolean)}
+   */
+  public int[] getErrorOffsets()
+    {
+    return errorOffsets == null ? null : errorOffsets.clone();
+    }
+
+  /**
+   * @return the exception thrown by the conversion of a matched input, or {@code null} if converted or not matched
+   */
+  public RuntimeException getFailure()
+    {
+    return failure;
+    }
+
+  /**
+   * @return the Parboiled result, only retained in debug mode
+   */
+  public ParsingResult<?> getParsingResult()
+    {
+    return parsingResult;
+    }
+
+  @Override
+  public boolean equals( Object object )
+    {
+    if( this == object )
+      return true;
+
+    if( object == null || getClass() != object.getClass() )
+      return false;
+
+    DetachedResult<?> that = (DetachedResult<?>) object;
+
+    return status == that.status &&
+      matched == that.matched &&
+      Objects.equals( value, that.value ) &&
+      format == that.format &&
+      Arrays.equals( errorOffsets, that.errorOffsets );
+    }
+
+  @Override
+  public int hashCode()
+    {
+    int result = Objects.hash( status, matched, value, format );
+
+    result = 31 * result + Arrays.hashCode( errorOffsets );
+
+    return result;
+    }
+
+  @Override
+  public String toString()
+    {
+    return "DetachedResult{" +
+      "status=" + status +
+      ", matched=" + matched +
+      ", value=" + value +
+      ", format=" + format +
+      ", errorOffsets=" + Arrays.toString( errorOffsets ) +
+      '}';
+    }
+  }
@@ -11,8 +11,10 @@ package heretical.parser.temporal;
 import java.time.Duration;
 import java.util.function.BiFunction;
 
+import heretical.parser.common.ParserSyntaxException;
 import heretical.parser.temporal.expression.DurationExp;
 import heretical.parser.temporal.grammar.DurationGrammar;
+import heretical.parser.temporal.grammar.LeanDurationGrammar;
 import org.parboiled.Rule;
 
 /**
@@ -23,7 +25,7 @@ import org.parboiled.Rule;
  * <p>
  * See {@link ISODurationParser} or {@link NaturalDurationParser} for more specific parsers.
  * <p>
- * This class is not thread-safe.
+ * This class is thread-safe.
  */
 public class DurationParser extends BaseTemporalExpressionParser<Duration, DurationExp, DurationGrammar>
   {
@@ -42,6 +44,12 @@ public class DurationParser extends BaseTemporalExpressionParser<Duration, Durat
     return DurationGrammar.class;
     }
 
+  @Override
+  protected Class<LeanDurationGrammar> getLeanParserClass()
+    {
+    return LeanDurationGrammar.class;
+    }
+
   @Override
   protected Rule getGrammar( DurationGrammar parser )
     {
@@ -53,4 +61,15 @@ public class DurationParser extends BaseTemporalExpressionParser<Duration, Durat
     {
     return ( context, expression ) -> expression.toDuration( context );
     }
+
+  /**
+   * Parses the given string into nanoseconds, without building a {@link Duration} for natural durations
+   * of days or less.
+   *
+   * @throws ArithmeticException if the duration is beyond the range of a long in nanoseconds
+   */
+  public long parseToNanos( String string ) throws ParserSyntaxException
+    {
+    return parseExpressionOrFail( string ).toNanos( getContext() );
+    }
   }
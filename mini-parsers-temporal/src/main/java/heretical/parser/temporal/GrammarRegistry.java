@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import heretical.parser.common.expression.Expression;
+import org.parboiled.BaseParser;
+import org.parboiled.Rule;
+
+/**
+ * A process wide registry of compiled grammars, keyed by the parser class, the grammar class the parser
+ * builds its root rule from, and the arguments the grammar class is constructed with.
+ * <p>
+ * Every parser instance of the same class shares a single grammar rule tree, so creating a parser per
+ * {@link Context} only pays for the Parboiled bytecode generation and grammar construction once. The
+ * grammar holds no Context, the Context of each parser is only applied when a match is converted.
+ * <p>
+ * A parser must build the same rules for the same key, so overrides of
+ * {@link BaseTemporalExpressionParser#getGrammar(BaseParser)} may only depend on the parser class, and the grammar
+ * class and arguments of the settings the grammar is built for. Any other setting that changes the rules must be
+ * passed to the grammar as an argument.
+ * <p>
+ * Rule variables keep their values and frames per thread, see {@link heretical.parser.common.util.ThreadLocalVar},
+ * and any memoization table a grammar holds is thread local, so the rules may be run by any number of threads
+ * concurrently.
+ */
+public class GrammarRegistry
+  {
+  private static final GrammarRegistry INSTANCE = new GrammarRegistry();
+
+  public static GrammarRegistry getInstance()
+    {
+    return INSTANCE;
+    }
+
+  static class Entry
+    {
+    final Rule grammar;
+    final long createParserNanos;
+    final long grammarNanos;
+
+    Entry( Rule grammar, long createParserNanos, long grammarNanos )
+      {
+      this.grammar = grammar;
+      this.createParserNanos = createParserNanos;
+      this.grammarNanos = grammarNanos;
+      }
+    }
+
+  private final Map<List<Object>, Entry> grammars = new ConcurrentHashMap<>();
+
+  GrammarRegistry()
+    {
+    }
+
+  <E extends Expression, G extends BaseParser<E>> Entry get( BaseTemporalExpressionParser<?, E, G> parser, ParserSettings settings )
+    {
+    List<Object> key = keyFor( parser.getClass(), parser.getGrammarClass( settings ), parser.getGrammarArguments( settings ) );
+    Entry entry = grammars.get( key );
+
+    if( entry != null )
+      return entry;
+
+    synchronized( this )
+      {
+      entry = grammars.get( key );
+
+      if( entry != null )
+        return entry;
+
+      long start = System.nanoTime();
+
+      G grammarParser = parser.createParser( settings );
+
+      long created = System.nanoTime();
+
+      Rule rule = parser.getGrammar( grammarParser );
+
+      entry = new Entry( rule, created - start, System.nanoTime() - created );
+
+      grammars.put( key, entry );
+
+      return entry;
+      }
+    }
+
+  /**
+   * @return true if a grammar has been built for the given parser and grammar class, and grammar arguments
+   */
+  public boolean contains( Class<?> parserClass, Class<?> grammarClass, Object... grammarArguments )
+    {
+    return grammars.containsKey( keyFor( parserClass, grammarClass, grammarArguments ) );
+    }
+
+  public int size()
+    {
+    return grammars.size();
+    }
+
+  /**
+   * Removes all grammars, parsers already holding a grammar keep it, new parsers will build and register anew.
+   */
+  public void clear()
+    {
+    grammars.clear();
+    }
+
+  private static List<Object> keyFor( Class<?> parserClass, Class<?> grammarClass, Object[] grammarArguments )
+    {
+    return Arrays.asList( parserClass, grammarClass, Arrays.asList( grammarArguments ) );
+    }
+  }
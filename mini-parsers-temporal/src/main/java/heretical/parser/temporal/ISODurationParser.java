@@ -21,7 +21,7 @@ import org.parboiled.Rule;
  *   +PT20.345S
  *   -PT20.345S // negated duration
  * </pre>
- * This class is not thread-safe.
+ * This class is thread-safe.
  */
 public class ISODurationParser extends DurationParser
   {
@@ -44,7 +44,7 @@ import org.parboiled.Rule;
  * | Years        | y, yrs       | 2y 2rs    |
  * </pre>
  * <p>
- * This class is not thread-safe.
+ * This class is thread-safe.
  */
 public class NaturalDurationParser extends DurationParser
   {
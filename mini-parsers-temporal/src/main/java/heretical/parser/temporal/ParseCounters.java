@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the parses, syntax errors, conversions, and conversion errors of a parser.
+ * <p>
+ * This class is thread-safe, and a single instance may be shared by many parsers.
+ */
+public class ParseCounters
+  {
+  private final LongAdder parses = new LongAdder();
+  private final LongAdder syntaxErrors = new LongAdder();
+  private final LongAdder conversions = new LongAdder();
+  private final LongAdder conversionErrors = new LongAdder();
+
+  public ParseCounters()
+    {
+    }
+
+  public void parsed( boolean matched )
+    {
+    parses.increment();
+
+    if( !matched )
+      syntaxErrors.increment();
+    }
+
+  public void converted( boolean success )
+    {
+    conversions.increment();
+
+    if( !success )
+      conversionErrors.increment();
+    }
+
+  public long getParses()
+    {
+    return parses.sum();
+    }
+
+  public long getSyntaxErrors()
+    {
+    return syntaxErrors.sum();
+    }
+
+  public long getConversions()
+    {
+    return conversions.sum();
+    }
+
+  public long getConversionErrors()
+    {
+    return conversionErrors.sum();
+    }
+
+  public void reset()
+    {
+    parses.reset();
+    syntaxErrors.reset();
+    conversions.reset();
+    conversionErrors.reset();
+    }
+
+  @Override
+  public String toString()
+    {
+    return "ParseCounters{" +
+      "parses=" + getParses() +
+      ", syntaxErrors=" + getSyntaxErrors() +
+      ", conversions=" + getConversions() +
+      ", conversionErrors=" + getConversionErrors() +
+      '}';
+    }
+  }
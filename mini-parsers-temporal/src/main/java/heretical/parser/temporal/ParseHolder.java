@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal;
+
+import heretical.parser.temporal.format.DateTimeFormats;
+
+/**
+ * A reusable holder for the status and value of a parse, filled in by
+ * {@link BaseTemporalExpressionParser#tryParse(String, ParseHolder)}.
+ * <p>
+ * A holder is meant to be reused across parses by a single thread, it is not thread-safe.
+ */
+public class ParseHolder<R>
+  {
+  private ParseStatus status;
+  private R value;
+  private DateTimeFormats.DateTimeParser format;
+
+  public ParseHolder()
+    {
+    }
+
+  ParseStatus set( ParseStatus status, R value, DateTimeFormats.DateTimeParser format )
+    {
+    this.status = status;
+    this.value = value;
+    this.format = format;
+
+    return status;
+    }
+
+  /**
+   * @return the status of the last parse, or {@code null} if none
+   */
+  public ParseStatus getStatus()
+    {
+    return status;
+    }
+
+  public boolean isOk()
+    {
+    return status == ParseStatus.OK;
+    }
+
+  /**
+   * @return the converted value of the last parse, or {@code null} unless the status is {@link ParseStatus#OK}
+   */
+  public R getValue()
+    {
+    return value;
+    }
+
+  /**
+   * @return the format the last input matched, only set by the {@link DateTimeParser} subclasses
+   */
+  public DateTimeFormats.DateTimeParser getFormat()
+    {
+    return format;
+    }
+
+  public void clear()
+    {
+    set( null, null, null );
+    }
+
+  @Override
+  public String toString()
+    {
+    return "ParseHolder{" +
+      "status=" + status +
+      ", value=" + value +
+      ", format=" + format +
+      '}';
+    }
+  }
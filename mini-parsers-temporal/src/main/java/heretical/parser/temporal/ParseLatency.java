@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal;
+
+import heretical.parser.common.metrics.LatencyHistogram;
+
+/**
+ * Holds the latency histograms of a parser, one for the grammar match phase of
+ * {@link BaseTemporalExpressionParser#parse(String)}, and one for the conversion phase of
+ * {@link TemporalResult#getResult()}.
+ * <p>
+ * A single instance may be shared by many parsers, or each parser given its own and later merged.
+ */
+public class ParseLatency
+  {
+  private final LatencyHistogram match;
+  private final LatencyHistogram conversion;
+
+  public ParseLatency()
+    {
+    this( new LatencyHistogram(), new LatencyHistogram() );
+    }
+
+  public ParseLatency( LatencyHistogram match, LatencyHistogram conversion )
+    {
+    this.match = match;
+    this.conversion = conversion;
+    }
+
+  public LatencyHistogram getMatch()
+    {
+    return match;
+    }
+
+  public LatencyHistogram getConversion()
+    {
+    return conversion;
+    }
+
+  public void merge( ParseLatency latency )
+    {
+    match.merge( latency.getMatch() );
+    conversion.merge( latency.getConversion() );
+    }
+
+  public void reset()
+    {
+    match.reset();
+    conversion.reset();
+    }
+
+  @Override
+  public String toString()
+    {
+    return "ParseLatency{" +
+      "match=" + match +
+      ", conversion=" + conversion +
+      '}';
+    }
+  }
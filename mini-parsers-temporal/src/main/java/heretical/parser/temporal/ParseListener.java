@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal;
+
+import heretical.parser.common.Result;
+import heretical.parser.common.expression.Expression;
+import heretical.parser.temporal.format.DateTimeFormats;
+
+/**
+ * Receives callbacks from a parser for every parse and conversion, see
+ * {@link BaseTemporalExpressionParser#setParseListener(ParseListener)}.
+ * <p>
+ * Callbacks are made on the parsing thread, so implementations should be fast and must not throw.
+ * All methods default to doing nothing.
+ */
+public interface ParseListener
+  {
+  /**
+   * Called when the input matched the grammar.
+   *
+   * @param format the matched date time format, or {@code null} if the expression was not parsed from a format
+   */
+  default void onMatched( BaseTemporalExpressionParser<?, ?, ?> parser, Expression expression, DateTimeFormats.DateTimeParser format )
+    {
+    }
+
+  /**
+   * Called when the input did not match the grammar, the result holds the errors.
+   */
+  default void onSyntaxError( BaseTemporalExpressionParser<?, ?, ?> parser, Result<?> result )
+    {
+    }
+
+  /**
+   * Called when a matched expression could not be converted by {@link TemporalResult#getResult()}, before the
+   * exception is rethrown to the caller.
+   */
+  default void onConversionError( BaseTemporalExpressionParser<?, ?, ?> parser, Expression expression, RuntimeException exception )
+    {
+    }
+
+  /**
+   * Called after every parse, matched or not.
+   *
+   * @param parseNanos the time spent matching the input against the grammar
+   */
+  default void onComplete( BaseTemporalExpressionParser<?, ?, ?> parser, boolean matched, long parseNanos )
+    {
+    }
+  }
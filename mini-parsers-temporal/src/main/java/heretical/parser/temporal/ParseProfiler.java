@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.parboiled.Rule;
+import org.parboiled.buffers.InputBuffer;
+import org.parboiled.parserunners.ProfilingParseRunner;
+import org.parboiled.support.ParsingResult;
+
+/**
+ * Sends one in every N parses of a parser through a {@link ProfilingParseRunner}, aggregating the per rule
+ * match and mismatch counts and timings of every sampled parse into a single report.
+ * <p>
+ * The profiling runner keeps its per run statistics on the grammar rules themselves, so sampled parses are
+ * serialized on the grammar, unsampled parses are unaffected. A sampled parse that fails to match is
+ * re-run by the parser so the returned result carries the usual error reporting.
+ * <p>
+ * The profiling runner replaces the runner of the parser for a sampled parse, so any parse budget or format stats
+ * of the parser do not apply to it.
+ * <p>
+ * A profiler reports on a single grammar, when a sampled parse runs a grammar other than the one profiled so far,
+ * such as after {@link BaseTemporalExpressionParser#setLeanGrammar(boolean)}, the statistics gathered so far are
+ * discarded and profiling starts over on the new grammar. So a profiler should only be set on a single parser,
+ * see {@link BaseTemporalExpressionParser#setParseProfiler(ParseProfiler)}.
+ */
+public class ParseProfiler
+  {
+  private final int sampleRate;
+  private final AtomicLong parses = new AtomicLong();
+  private Rule grammar;
+  private ProfilingParseRunner<?> runner;
+
+  /**
+   * @param sampleRate profile one in every sampleRate parses, 1 profiles every parse
+   */
+  public ParseProfiler( int sampleRate )
+    {
+    if( sampleRate < 1 )
+      throw new IllegalArgumentException( "sampleRate must be greater than zero, got: " + sampleRate );
+
+    this.sampleRate = sampleRate;
+    }
+
+  public int getSampleRate()
+    {
+    return sampleRate;
+    }
+
+  boolean sample()
+    {
+    return parses.getAndIncrement() % sampleRate == 0;
+    }
+
+  @SuppressWarnings("unchecked")
+  <E> ParsingResult<E> run( Rule grammar, InputBuffer input )
+    {
+    synchronized( grammar )
+      {
+      synchronized( this )
+        {
+        if( runner == null || this.grammar != grammar )
+          {
+          this.grammar = grammar;
+          this.runner = new ProfilingParseRunner<>( grammar );
+          }
+
+        return (ParsingResult<E>) runner.run( input );
+        }
+      }
+    }
+
+  /**
+   * @return the aggregate of all sampled parses, or {@code null} if no parse has been sampled yet
+   */
+  public synchronized ProfilingParseRunner.Report getReport()
+    {
+    if( runner == null )
+      return null;
+
+    return runner.getReport();
+    }
+
+  /**
+   * @return a printable report of all sampled parses, with the rules sorted by time spent
+   */
+  public synchronized String printReport()
+    {
+    ProfilingParseRunner.Report report = getReport();
+
+    if( report == null )
+      return "no parses sampled";
+
+    return report.sortByTime().print();
+    }
+
+  /**
+   * Discards all the statistics gathered so far.
+   */
+  public synchronized void reset()
+    {
+    grammar = null;
+    runner = null;
+    }
+  }
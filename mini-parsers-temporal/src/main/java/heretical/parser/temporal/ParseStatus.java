@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal;
+
+import java.time.temporal.UnsupportedTemporalTypeException;
+
+/**
+ * The outcome of a parse and conversion, as returned by
+ * {@link BaseTemporalExpressionParser#tryParse(String, ParseHolder)}.
+ */
+public enum ParseStatus
+  {
+    /**
+     * The input matched and was converted.
+     */
+    OK,
+    /**
+     * The input did not match the grammar.
+     */
+    SYNTAX_ERROR,
+    /**
+     * The match gave up once it exceeded the parse budget, the input may or may not be valid,
+     * see {@link BaseTemporalExpressionParser#setParseBudget(heretical.parser.common.ParseBudget)}.
+     */
+    BUDGET_EXCEEDED,
+    /**
+     * The input matched but could not be converted, for example a day of month out of range.
+     */
+    CONVERSION_ERROR,
+    /**
+     * The input matched an expression that is not supported, for example fractional natural duration units.
+     */
+    UNSUPPORTED;
+
+  static ParseStatus forFailure( RuntimeException exception )
+    {
+    if( exception instanceof UnsupportedOperationException || exception instanceof UnsupportedTemporalTypeException )
+      return UNSUPPORTED;
+
+    return CONVERSION_ERROR;
+    }
+
+  public boolean isOk()
+    {
+    return this == OK;
+    }
+  }
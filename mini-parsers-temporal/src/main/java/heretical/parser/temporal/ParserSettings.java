@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal;
+
+import heretical.parser.common.ParseBudget;
+import heretical.parser.common.ParseRunnerPool;
+import heretical.parser.temporal.format.DateTimeFormatStats;
+import org.parboiled.Rule;
+
+/**
+ * The settings of a {@link BaseTemporalExpressionParser}, and of its subclasses, read once by every parse.
+ * <p>
+ * An instance is never changed once published, every setter of the parser publishes a changed copy instead.
+ * The grammar and the runner pool built from the settings are never copied, so every copy gets its own and a
+ * parse only ever runs the grammar and runners of the settings it read.
+ */
+final class ParserSettings
+  {
+  ParseLatency parseLatency;
+  ParseCounters parseCounters;
+  ParseProfiler parseProfiler;
+  ParseListener parseListener;
+  boolean fastFail;
+  int parserRunnerPoolSize;
+  boolean debug;
+  boolean eagerConversion;
+  boolean leanGrammar;
+  ParseBudget parseBudget;
+  boolean prefilter;
+  DateTimeFormatStats formatStats;
+  boolean packratFormats;
+
+  // looked up on first use, always the same rule for the same settings
+  volatile Rule grammar;
+  ParseRunnerPool<?> parserRunnerPool;
+
+  ParserSettings()
+    {
+    }
+
+  ParserSettings( ParserSettings settings )
+    {
+    this.parseLatency = settings.parseLatency;
+    this.parseCounters = settings.parseCounters;
+    this.parseProfiler = settings.parseProfiler;
+    this.parseListener = settings.parseListener;
+    this.fastFail = settings.fastFail;
+    this.parserRunnerPoolSize = settings.parserRunnerPoolSize;
+    this.debug = settings.debug;
+    this.eagerConversion = settings.eagerConversion;
+    this.leanGrammar = settings.leanGrammar;
+    this.parseBudget = settings.parseBudget;
+    this.prefilter = settings.prefilter;
+    this.formatStats = settings.formatStats;
+    this.packratFormats = settings.packratFormats;
+    }
+  }
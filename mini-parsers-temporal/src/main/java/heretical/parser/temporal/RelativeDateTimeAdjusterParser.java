@@ -11,8 +11,10 @@ package heretical.parser.temporal;
 import java.time.Instant;
 import java.util.function.BiFunction;
 
+import heretical.parser.common.ParserSyntaxException;
 import heretical.parser.temporal.expression.AdjusterExp;
 import heretical.parser.temporal.grammar.DateTimeAdjusterGrammar;
+import heretical.parser.temporal.grammar.LeanDateTimeAdjusterGrammar;
 import org.parboiled.Rule;
 
 /**
@@ -29,7 +31,7 @@ import org.parboiled.Rule;
  *   1y
  * </pre>
  * <p>
- * This class is not thread-safe.
+ * This class is thread-safe.
  */
 public class RelativeDateTimeAdjusterParser extends BaseTemporalExpressionParser<Instant, AdjusterExp, DateTimeAdjusterGrammar>
   {
@@ -56,6 +58,12 @@ public class RelativeDateTimeAdjusterParser extends BaseTemporalExpressionParser
     return DateTimeAdjusterGrammar.class;
     }
 
+  @Override
+  protected Class<LeanDateTimeAdjusterGrammar> getLeanParserClass()
+    {
+    return LeanDateTimeAdjusterGrammar.class;
+    }
+
   @Override
   protected Rule getGrammar( DateTimeAdjusterGrammar parser )
     {
@@ -67,4 +75,23 @@ public class RelativeDateTimeAdjusterParser extends BaseTemporalExpressionParser
     {
     return ( context, expression ) -> expression.toInstant( context );
     }
+
+  /**
+   * Adjusts the current time into milliseconds since the epoch, without building an {@link Instant} or any
+   * intermediate date time where the context clock zone has a fixed offset.
+   */
+  public long parseToEpochMillis( String string ) throws ParserSyntaxException
+    {
+    return parseExpressionOrFail( string ).toEpochMillis( getContext() );
+    }
+
+  /**
+   * Adjusts the current time into nanoseconds since the epoch, see {@link #parseToEpochMillis(String)}.
+   *
+   * @throws ArithmeticException if the instant is beyond the range of a long in nanoseconds
+   */
+  public long parseToEpochNanos( String string ) throws ParserSyntaxException
+    {
+    return parseExpressionOrFail( string ).toEpochNanos( getContext() );
+    }
   }
@@ -8,10 +8,16 @@
 
 package heretical.parser.temporal;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
+import heretical.parser.common.ParserSyntaxException;
 import heretical.parser.common.Result;
 import heretical.parser.common.expression.Expression;
+import heretical.parser.common.metrics.LatencyHistogram;
+import heretical.parser.temporal.event.ConvertEvent;
+import heretical.parser.temporal.format.DateTimeFormats;
 import org.parboiled.support.ParsingResult;
 
 /**
@@ -20,17 +26,181 @@ import org.parboiled.support.ParsingResult;
 public class TemporalResult<E extends Expression, R> extends Result<E>
   {
   private final Context context;
-  private final BiFunction<Context, Expression, R> function;
+  private final BiFunction<Context, ? super E, R> function;
+  private final BaseTemporalExpressionParser<R, E, ?> parser;
+  private final ParseListener listener;
+  private final int inputLength;
+  private final LatencyHistogram conversionLatency;
+  private final ParseCounters counters;
+  private final boolean debug;
+  private volatile boolean converted;
+  private R value;
+  private RuntimeException failure;
+  private long conversionDurationNanos = -1;
 
   public TemporalResult( ParsingResult<E> result, long parseDuration, Context context, BiFunction<Context, Expression, R> function )
     {
     super( result, parseDuration );
     this.context = context;
     this.function = function;
+    this.parser = null;
+    this.listener = null;
+    this.inputLength = -1;
+    this.conversionLatency = null;
+    this.counters = null;
+    this.debug = false;
     }
 
+  TemporalResult( BaseTemporalExpressionParser<R, E, ?> parser, ParserSettings settings, ParsingResult<E> result, int inputLength, long parseDurationNanos, Supplier<ParsingResult<E>> errorReporter )
+    {
+    super( result, parseDurationNanos, TimeUnit.NANOSECONDS, errorReporter );
+    this.context = parser.getContext();
+    this.function = parser.getFunction( settings );
+    this.parser = parser;
+    this.listener = settings.parseListener;
+    this.inputLength = inputLength;
+
+    ParseLatency latency = settings.parseLatency;
+
+    this.conversionLatency = latency == null ? null : latency.getConversion();
+    this.counters = settings.parseCounters;
+    this.debug = settings.debug;
+    }
+
+  /**
+   * Converts the matched expression on the first call, every following call returns the same value, or throws
+   * the same exception, without converting again.
+   *
+   * @throws ParserSyntaxException if the input did not match, nothing is converted or counted as a conversion
+   */
   public R getResult()
     {
-    return function.apply( context, getExpression() );
+    if( !matched() )
+      throw new ParserSyntaxException( this, !context.isStacklessExceptions() );
+
+    if( !converted )
+      convert();
+
+    if( failure != null )
+      throw failure;
+
+    return value;
+    }
+
+  /**
+   * Converts the matched expression, if not already, and returns the outcome, never throws a conversion failure.
+   */
+  public ParseStatus getStatus()
+    {
+    if( !matched() )
+      return isBudgetExceeded() ? ParseStatus.BUDGET_EXCEEDED : ParseStatus.SYNTAX_ERROR;
+
+    if( !converted )
+      convert();
+
+    if( failure != null )
+      return ParseStatus.forFailure( failure );
+
+    return ParseStatus.OK;
+    }
+
+  void convert()
+    {
+    convert( context );
+    }
+
+  /**
+   * Converts with the given context, the first call wins, see {@link #getResult()}.
+   */
+  synchronized void convert( Context context )
+    {
+    if( converted )
+      return;
+
+    ConvertEvent event = ConvertEvent.isRecording() ? new ConvertEvent() : null;
+
+    if( event != null )
+      event.begin();
+
+    long start = System.nanoTime();
+    boolean success = false;
+
+    try
+      {
+      value = function.apply( context, getExpression() );
+
+      success = true;
+      }
+    catch( RuntimeException exception )
+      {
+      failure = exception;
+
+      if( listener != null )
+        listener.onConversionError( parser, getExpression(), exception );
+      }
+    finally
+      {
+      conversionDurationNanos = System.nanoTime() - start;
+
+      if( conversionLatency != null )
+        conversionLatency.record( conversionDurationNanos );
+
+      if( counters != null )
+        counters.converted( success );
+
+      if( event != null && event.shouldCommit() )
+        {
+        event.parserClass = parser == null ? null : parser.getClass();
+        event.expression = BaseTemporalExpressionParser.describe( getExpression() );
+        event.inputLength = inputLength;
+        event.success = success;
+        event.commit();
+        }
+      }
+
+    converted = true;
+    }
+
+  /**
+   * Converts the expression, if matched, and returns an immutable result holding no parse state, see {@link DetachedResult}.
+   * <p>
+   * Never throws a conversion failure, the failure is held by the detached result along with its status.
+   * The {@link ParsingResult} is only retained if the parser is in debug mode.
+   */
+  public DetachedResult<R> detach()
+    {
+    ParsingResult<E> parsingResult = debug ? getParsingResult() : null;
+    ParseStatus status = getStatus();
+
+    if( !matched() )
+      return DetachedResult.failed( status, getErrorOffsets(), parsingResult );
+
+    DateTimeFormats.DateTimeParser format = BaseTemporalExpressionParser.formatOf( getExpression() );
+
+    if( failure != null )
+      return DetachedResult.failed( status, format, failure, parsingResult );
+
+    return DetachedResult.matched( value, format, parsingResult );
+    }
+
+  private int[] getErrorOffsets()
+    {
+    if( isErrorReportDeferred() )
+      return null;
+
+    int[] offsets = new int[ getNumErrors() ];
+
+    for( int i = 0; i < offsets.length; i++ )
+      offsets[ i ] = getErrorStartIndex( i );
+
+    return offsets;
+    }
+
+  /**
+   * @return the time spent converting the expression, in nanoseconds, or -1 if not converted yet
+   */
+  public long getConversionDurationNanos()
+    {
+    return conversionDurationNanos;
     }
   }
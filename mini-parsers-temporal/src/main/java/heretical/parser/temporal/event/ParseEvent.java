@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event emitted for every grammar match made by
+ * {@link heretical.parser.temporal.BaseTemporalExpressionParser#parse(String)}.
+ * <p>
+ * Disabled by default, enable with {@code -XX:StartFlightRecording} and a settings file
+ * naming {@code heretical.parser.Parse}.
+ */
+@Name(ParseEvent.NAME)
+@Label("Parse")
+@Category({"Heretical", "Parser"})
+@Description("The grammar match phase of a temporal parse")
+@StackTrace(false)
+public class ParseEvent extends Event
+  {
+  public static final String NAME = "heretical.parser.Parse";
+
+  private static final EventType TYPE = EventType.getEventType( ParseEvent.class );
+
+  @Label("Parser Class")
+  public Class<?> parserClass;
+
+  @Label("Expression")
+  @Description("The matched date time format, or the expression type")
+  public String expression;
+
+  @Label("Input Length")
+  public int inputLength;
+
+  @Label("Success")
+  public boolean success;
+
+  /**
+   * @return true if a running recording has this event enabled, so an event need only be created when true
+   */
+  public static boolean isRecording()
+    {
+    return TYPE.isEnabled();
+    }
+  }
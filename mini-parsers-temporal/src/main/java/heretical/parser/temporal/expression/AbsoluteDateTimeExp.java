@@ -8,10 +8,13 @@
 
 package heretical.parser.temporal.expression;
 
+import java.text.ParsePosition;
+import java.time.Clock;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAccessor;
 
 import heretical.parser.temporal.Context;
@@ -34,6 +37,16 @@ public class AbsoluteDateTimeExp extends DateTimeExp
     return true;
     }
 
+  public String getValue()
+    {
+    return value;
+    }
+
+  public DateTimeFormats.DateTimeParser getParser()
+    {
+    return parser;
+    }
+
   public boolean setParser( DateTimeFormats.DateTimeParser parser )
     {
     this.parser = parser;
@@ -52,16 +65,7 @@ public class AbsoluteDateTimeExp extends DateTimeExp
     {
     try
       {
-      TemporalAccessor parsed;
-
-      try
-        {
-        parsed = parser.getParser().parse( value );
-        }
-      catch( DateTimeParseException exception )
-        {
-        throw new DateTimeFormatParseException( "could not parse: " + value + ", using: " + parser.getPattern() + ", having: " + parser.getParser(), exception );
-        }
+      TemporalAccessor parsed = parse( context );
 
       Instant instant;
 
@@ -111,7 +115,152 @@ public class AbsoluteDateTimeExp extends DateTimeExp
       }
     catch( IllegalArgumentException exception )
       {
-      throw new RuntimeException( String.format( "unable to parse: %s, using pattern: %s", value, parser.getPattern() ), exception );
+      String message = String.format( "unable to parse: %s, using pattern: %s", value, parser.getPattern() );
+      boolean writableStackTrace = !context.isStacklessExceptions();
+
+      throw new DateTimeFormatParseException( message, exception, writableStackTrace, writableStackTrace );
+      }
+    }
+
+  /**
+   * With stackless exceptions, a value the formatter does not match is rejected without the formatter throwing. A value
+   * with out of range fields is still rejected by an exception the formatter throws and catches internally, and the
+   * date time adjustments in {@link #toInstant(Context)} may still throw, only the exceptions thrown by this class
+   * skip capturing their stack.
+   */
+  private TemporalAccessor parse( Context context )
+    {
+    if( context.isStacklessExceptions() )
+      return parseStackless();
+
+    try
+      {
+      return parser.getParser().parse( value );
+      }
+    catch( DateTimeParseException exception )
+      {
+      throw new DateTimeFormatParseException( value, parser, exception, true );
+      }
+    }
+
+  private TemporalAccessor parseStackless()
+    {
+    ParsePosition position = new ParsePosition( 0 );
+    Object parsed = parser.getParser().toFormat().parseObject( value, position );
+
+    if( parsed == null || position.getIndex() != value.length() )
+      throw new DateTimeFormatParseException( value, parser, null, false );
+
+    return (TemporalAccessor) parsed;
+    }
+
+  /**
+   * Returns the same value as {@link #toInstant(Context)} without building the intermediate date time, unless
+   * the clock zone has daylight savings or other offset transitions.
+   */
+  @Override
+  public long toEpochMillis( Context context )
+    {
+    long epochMillis = epochMillis( context );
+
+    if( epochMillis == Long.MIN_VALUE )
+      return super.toEpochMillis( context );
+
+    return epochMillis;
+    }
+
+  /**
+   * Returns {@link #toEpochMillis(Context)} in nanoseconds, as toInstant only resolves milliseconds.
+   */
+  @Override
+  public long toEpochNanos( Context context )
+    {
+    long epochMillis = epochMillis( context );
+
+    if( epochMillis == Long.MIN_VALUE )
+      return super.toEpochNanos( context );
+
+    return Math.multiplyExact( epochMillis, 1_000_000L );
+    }
+
+  /**
+   * @return the epoch millis, or {@link Long#MIN_VALUE} if the value can only be resolved by {@link #toInstant(Context)}
+   */
+  private long epochMillis( Context context )
+    {
+    ChronoUnit unit = offset == 0 ? null : parser.getUnit().getChronoUnit();
+
+    // weeks and longer are not supported by Instant#plus, let toInstant throw
+    if( unit != null && unit.compareTo( ChronoUnit.DAYS ) > 0 )
+      return Long.MIN_VALUE;
+
+    TemporalAccessor parsed = parse( context );
+
+    long epochMillis;
+
+    if( parsed.isSupported( ChronoField.INSTANT_SECONDS ) )
+      {
+      epochMillis = Math.multiplyExact( parsed.getLong( ChronoField.INSTANT_SECONDS ), 1_000L );
+
+      if( parsed.isSupported( ChronoField.MILLI_OF_SECOND ) )
+        epochMillis += parsed.getLong( ChronoField.MILLI_OF_SECOND );
       }
+    else
+      {
+      Clock clock = context.getClock();
+      int offsetSeconds = EpochCalendar.fixedOffsetSeconds( clock );
+
+      if( offsetSeconds == Integer.MIN_VALUE )
+        return Long.MIN_VALUE;
+
+      // today in the clock zone at midnight
+      long date = EpochCalendar.toDate( Math.floorDiv( Math.floorDiv( clock.millis(), 1_000 ) + offsetSeconds, 86_400 ) );
+
+      if( parsed.isSupported( ChronoField.YEAR ) )
+        {
+        long year = parsed.getLong( ChronoField.YEAR );
+
+        if( !ChronoField.YEAR.range().isValidValue( year ) )
+          return Long.MIN_VALUE;
+
+        date = EpochCalendar.withYear( date, year );
+        }
+
+      if( parsed.isSupported( ChronoField.MONTH_OF_YEAR ) )
+        date = EpochCalendar.withMonth( date, parsed.get( ChronoField.MONTH_OF_YEAR ) );
+
+      if( parsed.isSupported( ChronoField.DAY_OF_MONTH ) )
+        {
+        int day = parsed.get( ChronoField.DAY_OF_MONTH );
+
+        if( day > EpochCalendar.lengthOfMonth( EpochCalendar.year( date ), EpochCalendar.month( date ) ) )
+          return Long.MIN_VALUE;
+
+        date = EpochCalendar.date( EpochCalendar.year( date ), EpochCalendar.month( date ), day );
+        }
+
+      long secondOfDay = 0;
+
+      if( parsed.isSupported( ChronoField.HOUR_OF_DAY ) )
+        secondOfDay += parsed.get( ChronoField.HOUR_OF_DAY ) * 3_600L;
+
+      if( parsed.isSupported( ChronoField.MINUTE_OF_HOUR ) )
+        secondOfDay += parsed.get( ChronoField.MINUTE_OF_HOUR ) * 60L;
+
+      if( parsed.isSupported( ChronoField.SECOND_OF_MINUTE ) )
+        secondOfDay += parsed.get( ChronoField.SECOND_OF_MINUTE );
+
+      long epochSeconds = EpochCalendar.toEpochDay( date ) * 86_400 + secondOfDay - offsetSeconds;
+
+      epochMillis = Math.multiplyExact( epochSeconds, 1_000L );
+
+      if( parsed.isSupported( ChronoField.MILLI_OF_SECOND ) )
+        epochMillis += parsed.get( ChronoField.MILLI_OF_SECOND );
+      }
+
+    if( unit != null )
+      epochMillis = Math.addExact( epochMillis, Math.multiplyExact( (long) offset, unit.getDuration().toMillis() ) );
+
+    return epochMillis;
     }
   }
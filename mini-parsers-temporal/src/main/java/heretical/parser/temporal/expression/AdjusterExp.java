@@ -8,6 +8,7 @@
 
 package heretical.parser.temporal.expression;
 
+import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
@@ -17,6 +18,9 @@ import java.time.temporal.WeekFields;
 import java.util.Locale;
 import java.util.function.Supplier;
 
+import static heretical.parser.temporal.expression.EpochCalendar.NANOS_PER_MILLI;
+import static heretical.parser.temporal.expression.EpochCalendar.NANOS_PER_SECOND;
+
 import heretical.parser.temporal.Context;
 import heretical.parser.temporal.units.TimeUnit;
 
@@ -28,6 +32,10 @@ import heretical.parser.temporal.units.TimeUnit;
  */
 public class AdjusterExp extends DateTimeExp
   {
+  private static final long SECONDS_PER_DAY = 86_400L;
+  private static final long MIN_SECONDS = LocalDateTime.MIN.toEpochSecond( ZoneOffset.UTC );
+  private static final long MAX_SECONDS = LocalDateTime.MAX.toEpochSecond( ZoneOffset.UTC );
+
   final Locale locale = Locale.US; // controls which day is the first day of the week
   final TemporalField weekField = WeekFields.of( locale ).dayOfWeek();
 
@@ -235,6 +243,199 @@ public class AdjusterExp extends DateTimeExp
     return dateTime.toInstant( ZoneOffset.UTC );
     }
 
+  /**
+   * Returns the same value as {@link #toInstant(Context)} without building the intermediate date time, unless
+   * the clock zone has daylight savings or other offset transitions.
+   */
+  @Override
+  public long toEpochMillis( Context context )
+    {
+    Clock clock = context.getClock();
+    int offsetSeconds = EpochCalendar.fixedOffsetSeconds( clock );
+
+    if( offsetSeconds == Integer.MIN_VALUE )
+      return super.toEpochMillis( context );
+
+    long millis = clock.millis();
+
+    return adjust( context, Math.floorDiv( millis, 1000 ) + offsetSeconds, Math.floorMod( millis, 1000 ) * NANOS_PER_MILLI, false );
+    }
+
+  /**
+   * Returns the same value as {@link #toInstant(Context)} without building the intermediate date time, unless
+   * the clock zone has daylight savings or other offset transitions.
+   */
+  @Override
+  public long toEpochNanos( Context context )
+    {
+    Clock clock = context.getClock();
+    int offsetSeconds = EpochCalendar.fixedOffsetSeconds( clock );
+
+    if( offsetSeconds == Integer.MIN_VALUE )
+      return super.toEpochNanos( context );
+
+    Instant now = clock.instant();
+
+    return adjust( context, now.getEpochSecond() + offsetSeconds, now.getNano(), true );
+    }
+
+  /**
+   * Mirrors {@link #toInstant(Context)} on the local epoch seconds, any value out of range falls back to
+   * toInstant so the same exception is thrown.
+   */
+  private long adjust( Context context, long localSeconds, long nanoOfSecond, boolean nanos )
+    {
+    if( amountUnit != null )
+      {
+      localSeconds = plus( localSeconds, amountOp, amount, amountUnit );
+
+      if( localSeconds == Long.MIN_VALUE )
+        return fallback( context, nanos );
+      }
+
+    if( snapUnit != null )
+      {
+      int ordinal = snapOrdinal; // only applied to the first field snapped, the rest are zeroed
+      long epochDay = Math.floorDiv( localSeconds, SECONDS_PER_DAY );
+      long secondOfDay = Math.floorMod( localSeconds, SECONDS_PER_DAY );
+      long date = EpochCalendar.toDate( epochDay );
+
+      switch( snapUnit )
+        {
+        case year:
+          if( ordinal < 0 || ordinal > 11 )
+            return fallback( context, nanos );
+
+          epochDay = EpochCalendar.daysFromCivil( EpochCalendar.year( date ), 1 + ordinal, 1 );
+          secondOfDay = 0;
+          nanoOfSecond = 0;
+          break;
+
+        case month:
+          if( ordinal < 0 || ordinal >= EpochCalendar.lengthOfMonth( EpochCalendar.year( date ), EpochCalendar.month( date ) ) )
+            return fallback( context, nanos );
+
+          epochDay = EpochCalendar.daysFromCivil( EpochCalendar.year( date ), EpochCalendar.month( date ), 1 + ordinal );
+          secondOfDay = 0;
+          nanoOfSecond = 0;
+          break;
+
+        case week:
+          if( ordinal < 0 || ordinal > 6 )
+            return fallback( context, nanos );
+
+          // the day of week localized to US, sunday is the first day
+          epochDay = epochDay - Math.floorMod( epochDay + 4, 7 ) + ordinal;
+          secondOfDay = 0;
+          nanoOfSecond = 0;
+          break;
+
+        case day:
+          if( ordinal < 0 || ordinal > 23 )
+            return fallback( context, nanos );
+
+          secondOfDay = ordinal * 3_600L;
+          nanoOfSecond = 0;
+          break;
+
+        case hour:
+          if( ordinal < 0 || ordinal > 59 )
+            return fallback( context, nanos );
+
+          secondOfDay = secondOfDay / 3_600 * 3_600 + ordinal * 60L;
+          nanoOfSecond = 0;
+          break;
+
+        case minute:
+          if( ordinal < 0 || ordinal > 59 )
+            return fallback( context, nanos );
+
+          secondOfDay = secondOfDay / 60 * 60 + ordinal;
+          nanoOfSecond = 0;
+          break;
+
+        case second:
+          if( ordinal < 0 || ordinal > 999 )
+            return fallback( context, nanos );
+
+          nanoOfSecond = ordinal * NANOS_PER_MILLI;
+          break;
+        }
+
+      localSeconds = epochDay * SECONDS_PER_DAY + secondOfDay;
+
+      if( offsetOp != null )
+        {
+        if( offsetUnit == null )
+          return fallback( context, nanos );
+
+        localSeconds = plus( localSeconds, offsetOp, offset, offsetUnit );
+
+        if( localSeconds == Long.MIN_VALUE )
+          return fallback( context, nanos );
+        }
+      }
+
+    // the local date time is returned as if in UTC
+    if( nanos )
+      return Math.addExact( Math.multiplyExact( localSeconds, NANOS_PER_SECOND ), nanoOfSecond );
+
+    return Math.addExact( Math.multiplyExact( localSeconds, 1_000L ), nanoOfSecond / NANOS_PER_MILLI );
+    }
+
+  /**
+   * @return the adjusted local epoch seconds, or {@link Long#MIN_VALUE} if beyond the range of {@link LocalDateTime}
+   */
+  private static long plus( long localSeconds, BinaryOp op, int amount, TimeUnit unit )
+    {
+    long signed;
+
+    switch( op )
+      {
+      case PLUS:
+        signed = amount;
+        break;
+
+      case MINUS:
+        signed = -(long) amount;
+        break;
+
+      default:
+        throw new IllegalStateException( "unknown op type" );
+      }
+
+    switch( unit )
+      {
+      case second:
+      case minute:
+      case hour:
+      case day:
+      case week:
+        localSeconds += signed * unit.unit().getDuration().getSeconds();
+        break;
+
+      case month:
+      case year:
+        long months = unit == TimeUnit.year ? signed * 12 : signed;
+        long epochDay = Math.floorDiv( localSeconds, SECONDS_PER_DAY );
+        long secondOfDay = Math.floorMod( localSeconds, SECONDS_PER_DAY );
+
+        epochDay = EpochCalendar.toEpochDay( EpochCalendar.plusMonths( EpochCalendar.toDate( epochDay ), months ) );
+        localSeconds = epochDay * SECONDS_PER_DAY + secondOfDay;
+        break;
+      }
+
+    if( localSeconds < MIN_SECONDS || localSeconds > MAX_SECONDS )
+      return Long.MIN_VALUE;
+
+    return localSeconds;
+    }
+
+  private long fallback( Context context, boolean nanos )
+    {
+    return nanos ? super.toEpochNanos( context ) : super.toEpochMillis( context );
+    }
+
   public LocalDateTime applyBinaryOp( LocalDateTime dateTime, BinaryOp op, int amount, TimeUnit unit )
     {
     switch( op )
@@ -19,4 +19,26 @@ import heretical.parser.temporal.Context;
 public abstract class DateTimeExp implements Expression
   {
   public abstract Instant toInstant( Context context );
+
+  /**
+   * Returns the same value as {@code toInstant( context ).toEpochMilli()}, subclasses may override to skip
+   * building the intermediate java.time objects.
+   */
+  public long toEpochMillis( Context context )
+    {
+    return toInstant( context ).toEpochMilli();
+    }
+
+  /**
+   * Returns the nanoseconds since the epoch of {@link #toInstant(Context)}, subclasses may override to skip
+   * building the intermediate java.time objects.
+   *
+   * @throws ArithmeticException if the instant is beyond the range of a long in nanoseconds
+   */
+  public long toEpochNanos( Context context )
+    {
+    Instant instant = toInstant( context );
+
+    return Math.addExact( Math.multiplyExact( instant.getEpochSecond(), EpochCalendar.NANOS_PER_SECOND ), instant.getNano() );
+    }
   }
@@ -19,4 +19,13 @@ import heretical.parser.temporal.Context;
 public abstract class DurationExp implements Expression
   {
   public abstract Duration toDuration( Context context );
+
+  /**
+   * Returns the same value as {@code toDuration( context ).toNanos()}, subclasses may override to skip
+   * building the intermediate Duration.
+   */
+  public long toNanos( Context context )
+    {
+    return toDuration( context ).toNanos();
+    }
   }
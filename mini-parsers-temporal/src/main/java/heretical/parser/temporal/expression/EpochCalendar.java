@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.expression;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+
+/**
+ * Proleptic ISO calendar arithmetic on primitive epoch days, so conversions to epoch millis or nanos do not
+ * allocate any java.time objects.
+ * <p>
+ * A date is packed into a single long by {@link #toDate(long)}, see {@link #year(long)}, {@link #month(long)},
+ * and {@link #day(long)}.
+ */
+final class EpochCalendar
+  {
+  static final long NANOS_PER_SECOND = 1_000_000_000L;
+  static final long NANOS_PER_MILLI = 1_000_000L;
+
+  private EpochCalendar()
+    {
+    }
+
+  /**
+   * @return the zone offset of the clock in seconds, or {@link Integer#MIN_VALUE} if the zone offset varies over time
+   */
+  static int fixedOffsetSeconds( Clock clock )
+    {
+    ZoneId zone = clock.getZone();
+
+    if( zone instanceof ZoneOffset )
+      return ( (ZoneOffset) zone ).getTotalSeconds();
+
+    ZoneRules rules = zone.getRules();
+
+    if( rules.isFixedOffset() )
+      return rules.getOffset( Instant.EPOCH ).getTotalSeconds();
+
+    return Integer.MIN_VALUE;
+    }
+
+  static long daysFromCivil( long year, int month, int day )
+    {
+    long y = month <= 2 ? year - 1 : year;
+    long era = Math.floorDiv( y, 400 );
+    long yoe = y - era * 400;
+    long doy = ( 153 * ( month + ( month > 2 ? -3 : 9 ) ) + 2 ) / 5 + day - 1;
+    long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+
+    return era * 146_097 + doe - 719_468;
+    }
+
+  static long toDate( long epochDay )
+    {
+    long z = epochDay + 719_468;
+    long era = Math.floorDiv( z, 146_097 );
+    long doe = z - era * 146_097;
+    long yoe = ( doe - doe / 1460 + doe / 36_524 - doe / 146_096 ) / 365;
+    long doy = doe - ( 365 * yoe + yoe / 4 - yoe / 100 );
+    long mp = ( 5 * doy + 2 ) / 153;
+    int day = (int) ( doy - ( 153 * mp + 2 ) / 5 + 1 );
+    int month = (int) ( mp < 10 ? mp + 3 : mp - 9 );
+    long year = yoe + era * 400 + ( month <= 2 ? 1 : 0 );
+
+    return date( year, month, day );
+    }
+
+  static long date( long year, int month, int day )
+    {
+    return year << 9 | month << 5 | day;
+    }
+
+  static long year( long date )
+    {
+    return date >> 9;
+    }
+
+  static int month( long date )
+    {
+    return (int) ( date >> 5 & 0xF );
+    }
+
+  static int day( long date )
+    {
+    return (int) ( date & 0x1F );
+    }
+
+  static long toEpochDay( long date )
+    {
+    return daysFromCivil( year( date ), month( date ), day( date ) );
+    }
+
+  static boolean isLeapYear( long year )
+    {
+    return ( year & 3 ) == 0 && ( year % 100 != 0 || year % 400 == 0 );
+    }
+
+  static int lengthOfMonth( long year, int month )
+    {
+    switch( month )
+      {
+      case 2:
+        return isLeapYear( year ) ? 29 : 28;
+      case 4:
+      case 6:
+      case 9:
+      case 11:
+        return 30;
+      default:
+        return 31;
+      }
+    }
+
+  /**
+   * Same as {@link java.time.LocalDate#plusMonths(long)}, the day is clamped to the end of the month.
+   */
+  static long plusMonths( long date, long months )
+    {
+    long monthCount = year( date ) * 12 + ( month( date ) - 1 ) + months;
+    long year = Math.floorDiv( monthCount, 12 );
+    int month = Math.floorMod( monthCount, 12 ) + 1;
+
+    return date( year, month, Math.min( day( date ), lengthOfMonth( year, month ) ) );
+    }
+
+  /**
+   * Same as {@link java.time.LocalDate#withYear(int)}, a leap day is clamped to the end of February.
+   */
+  static long withYear( long date, long year )
+    {
+    int month = month( date );
+
+    return date( year, month, Math.min( day( date ), lengthOfMonth( year, month ) ) );
+    }
+
+  /**
+   * Same as {@link java.time.LocalDate#withMonth(int)}, the day is clamped to the end of the month.
+   */
+  static long withMonth( long date, int month )
+    {
+    long year = year( date );
+
+    return date( year, month, Math.min( day( date ), lengthOfMonth( year, month ) ) );
+    }
+  }
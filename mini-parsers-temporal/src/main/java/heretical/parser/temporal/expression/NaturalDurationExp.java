@@ -59,6 +59,23 @@ public class NaturalDurationExp extends DurationExp
     throw new UnsupportedOperationException( "fractional units are unsupported" );
     }
 
+  @Override
+  public long toNanos( Context context )
+    {
+    int wholeAmount = (int) Math.floor( amount );
+
+    if( amount - wholeAmount != 0 )
+      throw new UnsupportedOperationException( "fractional units are unsupported" );
+
+    TemporalUnit unit = this.unit.getUnit();
+
+    // weeks, months, and years are resolved by the Duration path
+    if( !( unit instanceof ChronoUnit ) || ( (ChronoUnit) unit ).compareTo( ChronoUnit.DAYS ) > 0 )
+      return super.toNanos( context );
+
+    return Math.multiplyExact( wholeAmount, unit.getDuration().toNanos() );
+    }
+
   private Duration getDuration( int wholeAmount, TemporalUnit unit )
     {
     if( unit instanceof ChronoUnit )
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package heretical.parser.temporal.format;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.parboiled.buffers.InputBuffer;
+
+/**
+ * A single pass check of whether an input may match any of the {@link DateTimeFormats}, so values that are
+ * obviously not a date time, as free text or placeholders, are rejected without entering the grammar.
+ * <p>
+ * An input may only match a format if its length, less any trailing whitespace, is within the shortest and longest
+ * input the format matches, it holds no class of chars the format does not allow, and it holds every class of chars
+ * the format requires. The check is conservative, an input passing it may still fail to match.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class DateTimeFormatFilter
+  {
+  private static final long DIGIT = 1L;
+  private static final long LETTER = 1L << 1;
+  private static final long OTHER = 1L << 63; // allowed by no format
+  private static final long[] ASCII_CLASSES = new long[ 128 ];
+
+  static
+    {
+    int bit = 2;
+
+    for( char c = 0; c < 128; c++ )
+      {
+      if( c >= '0' && c <= '9' )
+        ASCII_CLASSES[ c ] = DIGIT;
+      else if( c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' )
+        ASCII_CLASSES[ c ] = LETTER;
+      else if( c >= ' ' && c < 127 )
+        ASCII_CLASSES[ c ] = 1L << bit++; // every printable symbol is a class of its own
+      else
+        ASCII_CLASSES[ c ] = OTHER;
+      }
+    }
+
+  private static final DateTimeFormatFilter INSTANCE = new DateTimeFormatFilter( DateTimeFormats.getPatternMap().values() );
+
+  public static DateTimeFormatFilter getInstance()
+    {
+    return INSTANCE;
+    }
+
+  private final int[] minLengths;
+  private final int[] maxLengths;
+  private final long[] allowed;
+  private final long[] required;
+  private final int minLength;
+
+  DateTimeFormatFilter( Collection<DateTimeFormats.DateTimeParser> formats )
+    {
+    Set<Bounds> unique = new LinkedHashSet<>();
+
+    for( DateTimeFormats.DateTimeParser format : formats )
+      unique.add( new Bounds( DateTimeFormats.parsePattern( format.getPattern() ) ) );
+
+    this.minLengths = new int[ unique.size() ];
+    this.maxLengths = new int[ unique.size() ];
+    this.allowed = new long[ unique.size() ];
+    this.required = new long[ unique.size() ];
+
+    int index = 0;
+    int min = Integer.MAX_VALUE;
+
+    for( Bounds bounds : unique )
+      {
+      minLengths[ index ] = bounds.minLength;
+      maxLengths[ index ] = bounds.maxLength;
+      allowed[ index ] = bounds.allowed;
+      required[ index ] = bounds.required;
+      min = Math.min( min, bounds.minLength );
+      index++;
+      }
+
+    this.minLength = min;
+    }
+
+  /**
+   * @param comments true if the grammar allows comments after the value, an input holding a comment is then never
+   *                 rejected
+   * @return false if the given input can not match any format
+   */
+  public boolean mayMatch( InputBuffer inputBuffer, int length, boolean comments )
+    {
+    int end = length;
+
+    while( end > 0 && isSpacing( inputBuffer.charAt( end - 1 ) ) )
+      end--;
+
+    if( end < minLength )
+      return false;
+
+    long classes = 0;
+
+    for( int i = 0; i < end; i++ )
+      {
+      char c = inputBuffer.charAt( i );
+
+      if( comments && c == '/' && i + 1 < end && ( inputBuffer.charAt( i + 1 ) == '/' || inputBuffer.charAt( i + 1 ) == '*' ) )
+        return true;
+
+      classes |= classOf( c );
+      }
+
+    for( int i = 0; i < minLengths.length; i++ )
+      {
+      if( end >= minLengths[ i ] && end <= maxLengths[ i ] && ( classes & ~allowed[ i ] ) == 0 && ( required[ i ] & ~classes ) == 0 )
+        return true;
+      }
+
+    return false;
+    }
+
+  private static boolean isSpacing( char c )
+    {
+    return c == ' ' || c == '\t' || c == '\r' || c == '\n' || c == '\f';
+    }
+
+  private static long classOf( char c )
+    {
+    return c < 128 ? ASCII_CLASSES[ c ] : OTHER;
+    }
+
+  private static long classesOf( String string )
+    {
+    long classes = 0;
+
+    for( int i = 0; i < string.length(); i++ )
+      classes |= classOf( string.charAt( i ) );
+
+    return classes;
+    }
+
+  /**
+   * The lengths and char classes of the input a format matches, mirrors the symbol rules of
+   * {@link heretical.parser.temporal.grammar.DateTimeGrammar}.
+   */
+  private static class Bounds
+    {
+    int minLength;
+    int maxLength;
+    long allowed;
+    long required;
+
+    Bounds( List<Object> pattern )
+      {
+      for( Object element : pattern )
+        {
+        if( element instanceof DateTimeFormats.Symbol )
+          add( (DateTimeFormats.Symbol) element );
+        else
+          add( element.toString() );
+        }
+      }
+
+    private void add( String literal )
+      {
+      long classes = classesOf( literal );
+
+      add( literal.length(), literal.length(), classes, classes );
+      }
+
+    private void add( DateTimeFormats.Symbol symbol )
+      {
+      switch( symbol.getCharType() )
+        {
+        case text:
+          add( symbolMinLength( symbol ), symbolMaxLength( symbol ), LETTER, LETTER );
+          break;
+
+        case digit:
+          add( symbolMinLength( symbol ), symbolMaxLength( symbol ), DIGIT, DIGIT );
+          break;
+
+        case time_digits: // Z or the offset digits
+          add( 1, Math.max( 1, symbolMaxLength( symbol ) ), DIGIT | LETTER | classesOf( "+-:" ), 0 );
+          break;
+
+        case literal:
+          int min = Integer.MAX_VALUE;
+          int max = 0;
+          long any = 0;
+          long all = -1;
+
+          for( String literal : symbol.literals )
+            {
+            min = Math.min( min, literal.length() );
+            max = Math.max( max, literal.length() );
+            any |= classesOf( literal );
+            all &= classesOf( literal );
+            }
+
+          add( min, max, any, all );
+          break;
+        }
+      }
+
+    private void add( int min, int max, long allowedClasses, long requiredClasses )
+      {
+      minLength += min;
+      maxLength = maxLength == Integer.MAX_VALUE || max == Integer.MAX_VALUE ? Integer.MAX_VALUE : maxLength + max;
+      allowed |= allowedClasses;
+      required |= requiredClasses;
+      }
+
+    private static int symbolMinLength( DateTimeFormats.Symbol symbol )
+      {
+      return symbol.minLength == -1 ? 1 : symbol.minLength;
+      }
+
+    private static int symbolMaxLength( DateTimeFormats.Symbol symbol )
+      {
+      if( symbol.minLength == symbol.maxLength && symbol.maxLength > 0 )
+        return symbol.maxLength;
+
+      return Integer.MAX_VALUE; // one or more, or a minimum followed by zero or more
+      }
+
+    @Override
+    public boolean equals( Object object )
+      {
+      if( this == object )
+        return true;
+
+      if( object == null || getClass() != object.getClass() )
+        return false;
+
+      Bounds that = (Bounds) object;
+
+      return minLength == that.minLength && maxLength == that.maxLength && allowed == that.allowed && required == that.required;
+      }
+
+    @Override
+    public int hashCode()
+      {
+      return Objects.hash( minLength, maxLength, allowed, required );
+      }
+    }
+  }
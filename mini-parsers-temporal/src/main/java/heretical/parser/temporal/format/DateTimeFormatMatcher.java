@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.format;
+
+import org.parboiled.Rule;
+import org.parboiled.matchers.SequenceMatcher;
+
+/**
+ * Marks the rule matching a single {@link DateTimeFormats.DateTimeParser} so that parse runners may identify
+ * which format is being attempted without a lookup.
+ */
+public class DateTimeFormatMatcher extends SequenceMatcher
+  {
+  private final DateTimeFormats.DateTimeParser format;
+
+  public DateTimeFormatMatcher( DateTimeFormats.DateTimeParser format, Rule rule )
+    {
+    super( new Rule[]{rule} );
+    this.format = format;
+    }
+
+  public DateTimeFormats.DateTimeParser getFormat()
+    {
+    return format;
+    }
+  }
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.format;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts, for each {@link DateTimeFormats.DateTimeParser}, how often it was attempted by the grammar, how often it
+ * matched, and how often the matched value failed conversion into an {@link java.time.Instant}.
+ * <p>
+ * Formats are attempted in {@link DateTimeFormats#getPatternMap()} order, so a format with many attempts and few
+ * matches is paying for every format listed before it.
+ * <p>
+ * This class is thread-safe, and a single instance may be shared by many parsers.
+ */
+public class DateTimeFormatStats
+  {
+  private static final DateTimeFormats.DateTimeParser[] FORMATS = DateTimeFormats.DateTimeParser.values();
+
+  private final LongAdder[] attempted = create();
+  private final LongAdder[] matched = create();
+  private final LongAdder[] conversionFailed = create();
+
+  private static LongAdder[] create()
+    {
+    LongAdder[] adders = new LongAdder[ FORMATS.length ];
+
+    for( int i = 0; i < adders.length; i++ )
+      adders[ i ] = new LongAdder();
+
+    return adders;
+    }
+
+  public DateTimeFormatStats()
+    {
+    }
+
+  public void attempted( DateTimeFormats.DateTimeParser format )
+    {
+    attempted[ format.ordinal() ].increment();
+    }
+
+  public void matched( DateTimeFormats.DateTimeParser format )
+    {
+    matched[ format.ordinal() ].increment();
+    }
+
+  public void conversionFailed( DateTimeFormats.DateTimeParser format )
+    {
+    conversionFailed[ format.ordinal() ].increment();
+    }
+
+  public long getAttempted( DateTimeFormats.DateTimeParser format )
+    {
+    return attempted[ format.ordinal() ].sum();
+    }
+
+  public long getMatched( DateTimeFormats.DateTimeParser format )
+    {
+    return matched[ format.ordinal() ].sum();
+    }
+
+  public long getConversionFailed( DateTimeFormats.DateTimeParser format )
+    {
+    return conversionFailed[ format.ordinal() ].sum();
+    }
+
+  /**
+   * @return up to limit formats with the most matches, most matched first, formats never matched are excluded
+   */
+  public Map<DateTimeFormats.DateTimeParser, Long> getTopMatched( int limit )
+    {
+    long[] snapshot = new long[ FORMATS.length ];
+
+    for( int i = 0; i < FORMATS.length; i++ )
+      snapshot[ i ] = matched[ i ].sum();
+
+    Map<DateTimeFormats.DateTimeParser, Long> top = new LinkedHashMap<>();
+
+    Arrays.stream( FORMATS )
+      .filter( format -> snapshot[ format.ordinal() ] != 0 )
+      .sorted( Comparator.comparingLong( ( DateTimeFormats.DateTimeParser format ) -> snapshot[ format.ordinal() ] ).reversed() )
+      .limit( limit )
+      .forEach( format -> top.put( format, snapshot[ format.ordinal() ] ) );
+
+    return top;
+    }
+
+  public void reset()
+    {
+    for( int i = 0; i < FORMATS.length; i++ )
+      {
+      attempted[ i ].reset();
+      matched[ i ].reset();
+      conversionFailed[ i ].reset();
+      }
+    }
+
+  /**
+   * @return every attempted format, in grammar order, with its counts
+   */
+  @Override
+  public String toString()
+    {
+    StringBuilder builder = new StringBuilder( "DateTimeFormatStats{" );
+
+    for( DateTimeFormats.DateTimeParser format : DateTimeFormats.getPatternMap().values() )
+      {
+      long attempts = getAttempted( format );
+
+      if( attempts == 0 )
+        continue;
+
+      if( builder.charAt( builder.length() - 1 ) != '{' )
+        builder.append( ", " );
+
+      builder.append( format )
+        .append( "=[attempted=" ).append( attempts )
+        .append( ", matched=" ).append( getMatched( format ) )
+        .append( ", conversionFailed=" ).append( getConversionFailed( format ) )
+        .append( ']' );
+      }
+
+    return builder.append( '}' ).toString();
+    }
+  }
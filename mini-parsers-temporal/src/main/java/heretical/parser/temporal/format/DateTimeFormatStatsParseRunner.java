@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.format;
+
+import heretical.parser.common.BudgetedParseRunner;
+import heretical.parser.common.ParseBudget;
+import org.parboiled.MatcherContext;
+import org.parboiled.Rule;
+import org.parboiled.matchers.Matcher;
+import org.parboiled.parserunners.ReportingParseRunner;
+
+/**
+ * A {@link ReportingParseRunner} that counts format attempts and matches into a {@link DateTimeFormatStats}.
+ * <p>
+ * Only the initial basic match is counted, the error locating and reporting runs that follow a failed match
+ * retry the same formats and would otherwise count them twice more. When fast failing, only the basic match
+ * is run, see {@link heretical.parser.common.FastFailParseRunner}. The basic match may be bounded by a
+ * {@link ParseBudget}, see {@link BudgetedParseRunner}.
+ */
+public class DateTimeFormatStatsParseRunner<V> extends BudgetedParseRunner<V>
+  {
+  private final DateTimeFormatStats stats;
+
+  public DateTimeFormatStatsParseRunner( Rule rule, DateTimeFormatStats stats )
+    {
+    this( rule, stats, false );
+    }
+
+  public DateTimeFormatStatsParseRunner( Rule rule, DateTimeFormatStats stats, boolean fastFail )
+    {
+    this( rule, stats, fastFail, ParseBudget.UNLIMITED );
+    }
+
+  public DateTimeFormatStatsParseRunner( Rule rule, DateTimeFormatStats stats, boolean fastFail, ParseBudget budget )
+    {
+    super( rule, budget, fastFail );
+    this.stats = stats;
+    }
+
+  @Override
+  protected boolean matchStep( MatcherContext<?> context )
+    {
+    Matcher matcher = context.getMatcher();
+
+    if( !( matcher instanceof DateTimeFormatMatcher ) )
+      return matcher.match( context );
+
+    DateTimeFormats.DateTimeParser format = ( (DateTimeFormatMatcher) matcher ).getFormat();
+
+    stats.attempted( format );
+
+    boolean matched = matcher.match( context );
+
+    if( matched )
+      stats.matched( format );
+
+    return matched;
+    }
+  }
@@ -11,6 +11,8 @@ package heretical.parser.temporal.grammar;
 import java.util.Set;
 
 import heretical.parser.common.BaseSyntaxGrammar;
+import heretical.parser.common.util.IntegerVar;
+import heretical.parser.common.util.ThreadLocalVar;
 import heretical.parser.temporal.expression.AdjusterExp;
 import heretical.parser.temporal.expression.BinaryOp;
 import heretical.parser.temporal.units.TimeUnit;
@@ -33,7 +35,7 @@ public class DateTimeAdjusterGrammar extends BaseSyntaxGrammar<AdjusterExp>
 
   public Rule Root()
     {
-    Var<AdjusterExp> relativeTime = new Var<>( new AdjusterExp() );
+    Var<AdjusterExp> relativeTime = new ThreadLocalVar<>( new AdjusterExp() );
 
     return Sequence(
       FirstOf(
@@ -60,27 +62,30 @@ public class DateTimeAdjusterGrammar extends BaseSyntaxGrammar<AdjusterExp>
 
   public Rule Adjust( Var<AdjusterExp> relativeTime )
     {
-    Var<TimeUnit> adjustUnit = new Var<>();
+    Var<TimeUnit> adjustUnit = new ThreadLocalVar<>();
+    IntegerVar amount = new IntegerVar();
 
     return Sequence(
       Optional( AnyOf( BinaryOp.chars() ), relativeTime.get().setAmountOp( match() ) ),
-      Optional( Number(), relativeTime.get().setAmount( match() ) ),
+      Optional( Number(), amount.set( getContext() ), relativeTime.get().setAmount( amount.get() ) ),
       Units( adjustUnit ), relativeTime.get().setAmountUnit( adjustUnit.get() )
     );
     }
 
   public Rule Snap( Var<AdjusterExp> relativeTime )
     {
-    Var<TimeUnit> snapUnit = new Var<>();
-    Var<TimeUnit> offsetUnit = new Var<>();
+    Var<TimeUnit> snapUnit = new ThreadLocalVar<>();
+    Var<TimeUnit> offsetUnit = new ThreadLocalVar<>();
+    IntegerVar ordinal = new IntegerVar();
+    IntegerVar offset = new IntegerVar();
 
     return Sequence(
       '@',
       Units( snapUnit ), relativeTime.get().setSnapUnit( snapUnit.get() ),
-      Optional( Number(), relativeTime.get().setSnapOrdinal( match() ) ),
+      Optional( Number(), ordinal.set( getContext() ), relativeTime.get().setSnapOrdinal( ordinal.get() ) ),
       Optional(
         AnyOf( BinaryOp.chars() ), relativeTime.get().setOffsetOp( match() ),
-        Number(), relativeTime.get().setOffset( match() ),
+        Number(), offset.set( getContext() ), relativeTime.get().setOffset( offset.get() ),
         Units( offsetUnit ), relativeTime.get().setOffsetUnit( offsetUnit.get() )
       )
     );
@@ -9,22 +9,26 @@
 package heretical.parser.temporal.grammar;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import heretical.parser.common.BaseSyntaxGrammar;
 import heretical.parser.common.util.IntegerVar;
+import heretical.parser.common.util.ThreadLocalVar;
 import heretical.parser.temporal.expression.AbsoluteDateTimeExp;
 import heretical.parser.temporal.expression.DateTimeExp;
 import heretical.parser.temporal.expression.OffsetDateTimeExp;
 import heretical.parser.temporal.expression.OrdinalDateTimeExp;
+import heretical.parser.temporal.format.DateTimeFormatMatcher;
 import heretical.parser.temporal.format.DateTimeFormats;
 import heretical.parser.temporal.units.CalendarUnit;
 import heretical.parser.temporal.units.RelativeDateUnit;
 import org.parboiled.Rule;
 import org.parboiled.annotations.Cached;
 import org.parboiled.annotations.DontLabel;
-import org.parboiled.support.StringVar;
 import org.parboiled.support.Var;
 
 /**
@@ -33,6 +37,25 @@ import org.parboiled.support.Var;
 @SuppressWarnings("ALL")
 public class DateTimeGrammar extends BaseSyntaxGrammar<DateTimeExp>
   {
+  private final Set<DateTimeGrammarOption> options;
+  final PackratMemo memo;
+
+  public DateTimeGrammar()
+    {
+    this( Collections.emptySet() );
+    }
+
+  public DateTimeGrammar( Set<DateTimeGrammarOption> options )
+    {
+    this.options = options.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet( EnumSet.copyOf( options ) );
+    this.memo = hasOption( DateTimeGrammarOption.packrat ) ? new PackratMemo( DateTimeFormats.Symbol.values().length ) : null;
+    }
+
+  public boolean hasOption( DateTimeGrammarOption option )
+    {
+    return options.contains( option );
+    }
+
   public Rule Root()
     {
     return FirstOf(
@@ -49,9 +72,9 @@ public class DateTimeGrammar extends BaseSyntaxGrammar<DateTimeExp>
 
   public Rule AbsoluteDateTime()
     {
-    Var<AbsoluteDateTimeExp> var = new Var<>( new AbsoluteDateTimeExp() );
-    StringVar value = new StringVar();
-    Var<DateTimeFormats.DateTimeParser> parser = new Var<>();
+    Var<AbsoluteDateTimeExp> var = new ThreadLocalVar<>( new AbsoluteDateTimeExp() );
+    Var<String> value = new ThreadLocalVar<>();
+    Var<DateTimeFormats.DateTimeParser> parser = new ThreadLocalVar<>();
 
     return Sequence(
       DateTimeFormats( parser, value ),
@@ -63,19 +86,43 @@ public class DateTimeGrammar extends BaseSyntaxGrammar<DateTimeExp>
     }
 
   @Cached
-  Rule DateTimeFormats( Var<DateTimeFormats.DateTimeParser> parserVar, StringVar valueVar )
+  Rule DateTimeFormats( Var<DateTimeFormats.DateTimeParser> parserVar, Var<String> valueVar )
     {
     List<Rule> formatRules = new ArrayList<>();
 
     for( Map.Entry<String, DateTimeFormats.DateTimeParser> entry : DateTimeFormats.getPatternMap().entrySet() )
       formatRules.add( FormatRule( entry.getValue(), valueVar, parserVar ) );
 
-    return FirstOf( formatRules.toArray() );
+    return FormatAlternatives( formatRules.toArray( new Rule[ 0 ] ) );
+    }
+
+  /**
+   * Tries every format rule in order, the first to match wins.
+   */
+  @DontLabel
+  protected Rule FormatAlternatives( Rule[] formatRules )
+    {
+    if( memo == null )
+      return FirstOf( formatRules );
+
+    return new PackratScopeMatcher( memo, FirstOf( formatRules ) );
+    }
+
+  @DontLabel
+  @Cached
+  Rule FormatRule( DateTimeFormats.DateTimeParser parser, Var<String> valueVar, Var<DateTimeFormats.DateTimeParser> parserVar )
+    {
+    Rule rule = FormatSequence( parser, valueVar, parserVar );
+
+    if( !hasOption( DateTimeGrammarOption.formatMatchers ) )
+      return rule;
+
+    return new DateTimeFormatMatcher( parser, rule ).label( parser.getPattern() );
     }
 
   @DontLabel
   @Cached
-  Rule FormatRule( DateTimeFormats.DateTimeParser parser, StringVar valueVar, Var<DateTimeFormats.DateTimeParser> parserVar )
+  Rule FormatSequence( DateTimeFormats.DateTimeParser parser, Var<String> valueVar, Var<DateTimeFormats.DateTimeParser> parserVar )
     {
     List<Rule> sequence = new ArrayList<>();
     List<Object> parse = DateTimeFormats.parsePattern( parser.getPattern() );
@@ -83,7 +130,7 @@ public class DateTimeGrammar extends BaseSyntaxGrammar<DateTimeExp>
     for( Object symbol : parse )
       {
       if( symbol instanceof DateTimeFormats.Symbol )
-        sequence.add( DateTimeSymbol( (DateTimeFormats.Symbol) symbol ).label( ( (DateTimeFormats.Symbol) symbol ).getSymbolFormat() ) );
+        sequence.add( FormatSymbol( (DateTimeFormats.Symbol) symbol ) );
       else
         sequence.add( toRule( symbol ) );
       }
@@ -96,6 +143,26 @@ public class DateTimeGrammar extends BaseSyntaxGrammar<DateTimeExp>
     ).label( parser.getPattern() );
     }
 
+  /**
+   * Matches a single symbol of a format pattern, a new rule is built for every occurrence of the symbol unless
+   * the {@link DateTimeGrammarOption#packrat} option is set.
+   */
+  @DontLabel
+  protected Rule FormatSymbol( DateTimeFormats.Symbol symbol )
+    {
+    if( memo != null )
+      return PackratSymbol( symbol );
+
+    return DateTimeSymbol( symbol ).label( symbol.getSymbolFormat() );
+    }
+
+  @DontLabel
+  @Cached
+  Rule PackratSymbol( DateTimeFormats.Symbol symbol )
+    {
+    return new PackratMatcher( memo, symbol.ordinal(), DateTimeSymbol( symbol ).label( symbol.getSymbolFormat() ) ).label( symbol.getSymbolFormat() );
+    }
+
   @DontLabel
   Rule DateTimeSymbol( DateTimeFormats.Symbol symbol )
     {
@@ -152,8 +219,8 @@ public class DateTimeGrammar extends BaseSyntaxGrammar<DateTimeExp>
 
   Rule ThisTerm()
     {
-    Var<OffsetDateTimeExp> var = new Var( new OffsetDateTimeExp() );
-    StringVar unit = new StringVar();
+    Var<OffsetDateTimeExp> var = new ThreadLocalVar<>( new OffsetDateTimeExp() );
+    Var<String> unit = new ThreadLocalVar<>();
 
     return
       Sequence(
@@ -167,9 +234,9 @@ public class DateTimeGrammar extends BaseSyntaxGrammar<DateTimeExp>
 
   Rule LastTerm()
     {
-    Var<OffsetDateTimeExp> var = new Var( new OffsetDateTimeExp() );
+    Var<OffsetDateTimeExp> var = new ThreadLocalVar<>( new OffsetDateTimeExp() );
     IntegerVar ordinal = new IntegerVar( 1 );
-    StringVar unit = new StringVar();
+    Var<String> unit = new ThreadLocalVar<>();
 
     return Sequence(
       Keyword( "last", ordinal, FirstOfKeyword( CalendarUnit.values() ), unit ),
@@ -182,9 +249,9 @@ public class DateTimeGrammar extends BaseSyntaxGrammar<DateTimeExp>
 
   Rule AgoTerm()
     {
-    Var<OffsetDateTimeExp> var = new Var( new OffsetDateTimeExp() );
+    Var<OffsetDateTimeExp> var = new ThreadLocalVar<>( new OffsetDateTimeExp() );
     IntegerVar ordinal = new IntegerVar( 1 );
-    StringVar unit = new StringVar();
+    Var<String> unit = new ThreadLocalVar<>();
 
     return Sequence(
       Keyword( ordinal, FirstOfKeyword( CalendarUnit.values() ), unit, "ago" ),
@@ -219,7 +286,7 @@ public class DateTimeGrammar extends BaseSyntaxGrammar<DateTimeExp>
 
   Rule RelativeDate( RelativeDateUnit dateUnit )
     {
-    Var<OffsetDateTimeExp> var = new Var( new OffsetDateTimeExp( dateUnit ) );
+    Var<OffsetDateTimeExp> var = new ThreadLocalVar<>( new OffsetDateTimeExp( dateUnit ) );
 
     return Sequence(
       Keyword( dateUnit.name() ),
@@ -230,8 +297,8 @@ public class DateTimeGrammar extends BaseSyntaxGrammar<DateTimeExp>
 
   Rule RelativeThisTerm()
     {
-    Var<OffsetDateTimeExp> var = new Var( new OffsetDateTimeExp() );
-    StringVar unit = new StringVar();
+    Var<OffsetDateTimeExp> var = new ThreadLocalVar<>( new OffsetDateTimeExp() );
+    Var<String> unit = new ThreadLocalVar<>();
 
     return Sequence(
       Keyword( "this", FirstOfKeyword( CalendarUnit.values() ), unit ),
@@ -249,8 +316,8 @@ public class DateTimeGrammar extends BaseSyntaxGrammar<DateTimeExp>
   //       waterfall of switch statements in OrdinalDateTimeExp
   Rule RelativeLastUnitSymbol( CalendarUnit unit )
     {
-    Var<OrdinalDateTimeExp> var = new Var( new OrdinalDateTimeExp( unit ) );
-    StringVar value = new StringVar();
+    Var<OrdinalDateTimeExp> var = new ThreadLocalVar<>( new OrdinalDateTimeExp( unit ) );
+    Var<String> value = new ThreadLocalVar<>();
 
     return Sequence(
       Keyword( "last", FirstOfKeyword( unit.getSymbols() ), value ),
@@ -262,9 +329,9 @@ public class DateTimeGrammar extends BaseSyntaxGrammar<DateTimeExp>
 
   Rule RelativeLastTerm()
     {
-    Var<OffsetDateTimeExp> var = new Var( new OffsetDateTimeExp() );
+    Var<OffsetDateTimeExp> var = new ThreadLocalVar<>( new OffsetDateTimeExp() );
     IntegerVar offset = new IntegerVar( 1 );
-    StringVar unit = new StringVar();
+    Var<String> unit = new ThreadLocalVar<>();
 
     return Sequence(
       Keyword( "last", offset, FirstOfKeyword( CalendarUnit.values() ), unit ),
@@ -277,9 +344,9 @@ public class DateTimeGrammar extends BaseSyntaxGrammar<DateTimeExp>
 
   Rule RelativeAgoTerm()
     {
-    Var<OffsetDateTimeExp> var = new Var( new OffsetDateTimeExp() );
+    Var<OffsetDateTimeExp> var = new ThreadLocalVar<>( new OffsetDateTimeExp() );
     IntegerVar offset = new IntegerVar( 1 );
-    StringVar unit = new StringVar();
+    Var<String> unit = new ThreadLocalVar<>();
 
     return Sequence(
       Keyword( offset, FirstOfKeyword( CalendarUnit.values() ), unit, "ago" ),
@@ -303,7 +370,7 @@ public class DateTimeGrammar extends BaseSyntaxGrammar<DateTimeExp>
     return FirstOf( EQU, GE, GT, LE, LT, NOTEQUAL );
     }
 
-  Rule RegEx( StringVar term )
+  Rule RegEx( Var<String> term )
     {
     return Sequence(
       '/',
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.grammar;
+
+/**
+ * The options a {@link DateTimeGrammar} may be constructed with, each changes the rules it builds.
+ */
+public enum DateTimeGrammarOption
+  {
+    /**
+     * Wraps the rule of every format in a {@link heretical.parser.temporal.format.DateTimeFormatMatcher}, so
+     * a {@link heretical.parser.temporal.format.DateTimeFormatStatsParseRunner} may count its attempts and matches.
+     */
+    formatMatchers,
+
+    /**
+     * Shares one rule per format symbol across all formats, each memoizing its result at every input index, so
+     * formats with a common prefix do not match the prefix again after backtracking.
+     */
+    packrat
+  }
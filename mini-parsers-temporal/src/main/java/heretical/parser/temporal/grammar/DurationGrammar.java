@@ -13,6 +13,7 @@ import java.util.List;
 
 import heretical.parser.common.BaseSyntaxGrammar;
 import heretical.parser.common.util.DoubleVar;
+import heretical.parser.common.util.ThreadLocalVar;
 import heretical.parser.temporal.expression.DurationExp;
 import heretical.parser.temporal.expression.ISO8601DurationExp;
 import heretical.parser.temporal.expression.NaturalDurationExp;
@@ -42,7 +43,7 @@ public class DurationGrammar extends BaseSyntaxGrammar<DurationExp>
 
   public Rule ISO8601DurationMatch()
     {
-    Var<ISO8601DurationExp> var = new Var<>( new ISO8601DurationExp() );
+    Var<ISO8601DurationExp> var = new ThreadLocalVar<>( new ISO8601DurationExp() );
 
     return Sequence(
       ISO8601Duration(),
@@ -98,9 +99,9 @@ public class DurationGrammar extends BaseSyntaxGrammar<DurationExp>
 
   public Rule NaturalDurationMatch()
     {
-    Var<NaturalDurationExp> var = new Var<>( new NaturalDurationExp() );
+    Var<NaturalDurationExp> var = new ThreadLocalVar<>( new NaturalDurationExp() );
     DoubleVar amount = new DoubleVar();
-    Var<DurationUnits> unit = new Var<>();
+    Var<DurationUnits> unit = new ThreadLocalVar<>();
 
     return Sequence(
       Units( amount, unit ),
@@ -126,7 +127,7 @@ public class DurationGrammar extends BaseSyntaxGrammar<DurationExp>
     {
     return
       Sequence(
-        Optional( DoubleNumber(), amount.set( match() ) ),
+        Optional( DoubleNumber(), amount.set( getContext() ) ),
         Spacing(),
         IgnoreCase( durationUnits.name() ),
         unit.set( durationUnits ),
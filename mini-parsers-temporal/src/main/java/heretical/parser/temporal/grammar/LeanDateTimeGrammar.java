@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.grammar;
+
+import java.util.Set;
+
+import org.parboiled.Rule;
+import org.parboiled.annotations.SuppressNode;
+
+/**
+ * A {@link DateTimeGrammar} whose spacing only matches whitespace, as date times never hold comments.
+ */
+public class LeanDateTimeGrammar extends DateTimeGrammar
+  {
+  public LeanDateTimeGrammar()
+    {
+    }
+
+  public LeanDateTimeGrammar( Set<DateTimeGrammarOption> options )
+    {
+    super( options );
+    }
+
+  @Override
+  @SuppressNode
+  protected Rule Spacing()
+    {
+    return LeanSpacing();
+    }
+  }
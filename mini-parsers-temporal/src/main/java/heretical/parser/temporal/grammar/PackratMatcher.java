@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.grammar;
+
+import org.parboiled.MatcherContext;
+import org.parboiled.Rule;
+import org.parboiled.matchers.AbstractMatcher;
+import org.parboiled.matchervisitors.MatcherVisitor;
+
+/**
+ * Memoizes whether, and up to where, its rule matched at each input index, so a rule shared by many alternatives
+ * is only run once per index.
+ * <p>
+ * Only safe around rules without actions, as a memoized match does not run the rule again. Matcher visitors see
+ * the wrapped rule.
+ */
+class PackratMatcher extends AbstractMatcher
+  {
+  private final PackratMemo memo;
+  private final int id;
+
+  PackratMatcher( PackratMemo memo, int id, Rule rule )
+    {
+    super( rule, "Packrat" );
+    this.memo = memo;
+    this.id = id;
+    }
+
+  @Override
+  public <V> boolean match( MatcherContext<V> context )
+    {
+    int start = context.getCurrentIndex();
+    int end = memo.get( id, start );
+
+    if( end == PackratMemo.MISMATCH )
+      return false;
+
+    if( end != PackratMemo.UNKNOWN )
+      {
+      context.setCurrentIndex( end );
+      context.createNode();
+
+      return true;
+      }
+
+    boolean matched = getChildren().get( 0 ).getSubContext( context ).runMatcher();
+
+    memo.put( id, start, matched ? context.getCurrentIndex() : PackratMemo.MISMATCH );
+
+    if( matched )
+      context.createNode();
+
+    return matched;
+    }
+
+  @Override
+  public <R> R accept( MatcherVisitor<R> visitor )
+    {
+    return getChildren().get( 0 ).accept( visitor );
+    }
+  }
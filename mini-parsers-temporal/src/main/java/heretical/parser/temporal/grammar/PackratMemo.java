@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.grammar;
+
+import java.util.Arrays;
+
+/**
+ * A per thread table of the end index of every memoized rule at every input index, valid until the next
+ * {@link #reset()} on the same thread.
+ * <p>
+ * Entries are invalidated by bumping a generation stamp, so a reset does not clear or allocate.
+ */
+final class PackratMemo
+  {
+  static final int UNKNOWN = -2;
+  static final int MISMATCH = -1;
+
+  private final int rules;
+  private final ThreadLocal<Table> tables = ThreadLocal.withInitial( Table::new );
+
+  private final class Table
+    {
+    int generation;
+    int positions;
+    int[] stamps = new int[ 0 ];
+    int[] ends = new int[ 0 ];
+
+    void reset()
+      {
+      if( ++generation != 0 )
+        return;
+
+      Arrays.fill( stamps, 0 );
+      generation = 1;
+      }
+
+    int get( int rule, int index )
+      {
+      if( index >= positions )
+        return UNKNOWN;
+
+      int slot = index * rules + rule;
+
+      return stamps[ slot ] == generation ? ends[ slot ] : UNKNOWN;
+      }
+
+    void put( int rule, int index, int end )
+      {
+      if( index >= positions )
+        grow( index + 1 );
+
+      int slot = index * rules + rule;
+
+      stamps[ slot ] = generation;
+      ends[ slot ] = end;
+      }
+
+    private void grow( int minPositions )
+      {
+      positions = Math.max( 32, Integer.highestOneBit( minPositions - 1 ) << 1 );
+      stamps = Arrays.copyOf( stamps, positions * rules );
+      ends = Arrays.copyOf( ends, positions * rules );
+      }
+    }
+
+  PackratMemo( int rules )
+    {
+    this.rules = rules;
+    }
+
+  /**
+   * Forgets every entry recorded by the current thread.
+   */
+  void reset()
+    {
+    tables.get().reset();
+    }
+
+  /**
+   * @return the end index of the given rule matched at the given index, {@link #MISMATCH}, or {@link #UNKNOWN}
+   */
+  int get( int rule, int index )
+    {
+    return tables.get().get( rule, index );
+    }
+
+  void put( int rule, int index, int end )
+    {
+    tables.get().put( rule, index, end );
+    }
+  }
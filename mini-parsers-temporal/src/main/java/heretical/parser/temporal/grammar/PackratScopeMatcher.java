@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.grammar;
+
+import org.parboiled.MatcherContext;
+import org.parboiled.Rule;
+import org.parboiled.matchers.AbstractMatcher;
+import org.parboiled.matchervisitors.MatcherVisitor;
+
+/**
+ * Forgets every entry of the given {@link PackratMemo} before each match of its rule, so the memoized results
+ * of a {@link PackratMatcher} never outlive the parse that recorded them. Matcher visitors see the wrapped rule.
+ */
+class PackratScopeMatcher extends AbstractMatcher
+  {
+  private final PackratMemo memo;
+
+  PackratScopeMatcher( PackratMemo memo, Rule rule )
+    {
+    super( rule, "PackratScope" );
+    this.memo = memo;
+    }
+
+  @Override
+  public <V> boolean match( MatcherContext<V> context )
+    {
+    memo.reset();
+
+    boolean matched = getChildren().get( 0 ).getSubContext( context ).runMatcher();
+
+    if( matched )
+      context.createNode();
+
+    return matched;
+    }
+
+  @Override
+  public <R> R accept( MatcherVisitor<R> visitor )
+    {
+    return getChildren().get( 0 ).accept( visitor );
+    }
+  }
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.management;
+
+import java.util.Map;
+
+/**
+ * The JMX view of a single temporal parser, see {@link TemporalParserMonitor}.
+ * <p>
+ * All durations are in nanoseconds.
+ */
+public interface TemporalParserMXBean
+  {
+  String getParserClass();
+
+  long getParseCount();
+
+  long getSyntaxErrorCount();
+
+  long getConversionCount();
+
+  long getConversionErrorCount();
+
+  long getGrammarBuildNanos();
+
+  long getFirstRunNanos();
+
+  long getMatchP50Nanos();
+
+  long getMatchP99Nanos();
+
+  long getMatchP999Nanos();
+
+  long getConversionP50Nanos();
+
+  long getConversionP99Nanos();
+
+  long getConversionP999Nanos();
+
+  /**
+   * @return the most matched date time formats and their match counts, empty if the parser does not parse formats
+   */
+  Map<String, Long> getTopMatchedFormats();
+
+  void reset();
+  }
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.management;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import heretical.parser.temporal.BaseTemporalExpressionParser;
+import heretical.parser.temporal.ColdStartTimings;
+import heretical.parser.temporal.DateTimeParser;
+import heretical.parser.temporal.ParseCounters;
+import heretical.parser.temporal.ParseLatency;
+import heretical.parser.temporal.format.DateTimeFormatStats;
+
+/**
+ * Exposes the statistics of a single parser over JMX.
+ * <p>
+ * A new monitor installs a {@link ParseCounters}, {@link ParseLatency}, and for date time parsers a
+ * {@link DateTimeFormatStats}, on the given parser unless it already has them. Nothing is recorded by a parser
+ * until it is monitored.
+ * <p>
+ * Call {@link #register(String)} to publish the monitor to the platform MBean server under
+ * {@code heretical.parser:type=TemporalParser,name=<name>}.
+ */
+public class TemporalParserMonitor implements TemporalParserMXBean
+  {
+  public static final String DOMAIN = "heretical.parser";
+  public static final int DEFAULT_TOP_FORMATS = 10;
+
+  private final BaseTemporalExpressionParser<?, ?, ?> parser;
+  private final ParseCounters counters;
+  private final ParseLatency latency;
+  private final DateTimeFormatStats formatStats;
+  private final int topFormats;
+  private ObjectName objectName;
+
+  public TemporalParserMonitor( BaseTemporalExpressionParser<?, ?, ?> parser )
+    {
+    this( parser, DEFAULT_TOP_FORMATS );
+    }
+
+  public TemporalParserMonitor( BaseTemporalExpressionParser<?, ?, ?> parser, int topFormats )
+    {
+    this.parser = parser;
+    this.topFormats = topFormats;
+
+    if( parser.getParseCounters() == null )
+      parser.setParseCounters( new ParseCounters() );
+
+    if( parser.getParseLatency() == null )
+      parser.setParseLatency( new ParseLatency() );
+
+    if( parser instanceof DateTimeParser && ( (DateTimeParser) parser ).getFormatStats() == null )
+      ( (DateTimeParser) parser ).setFormatStats( new DateTimeFormatStats() );
+
+    this.counters = parser.getParseCounters();
+    this.latency = parser.getParseLatency();
+    this.formatStats = parser instanceof DateTimeParser ? ( (DateTimeParser) parser ).getFormatStats() : null;
+    }
+
+  public static ObjectName createObjectName( String name ) throws JMException
+    {
+    return new ObjectName( DOMAIN + ":type=TemporalParser,name=" + ObjectName.quote( name ) );
+    }
+
+  public ObjectName register( String name ) throws JMException
+    {
+    return register( ManagementFactory.getPlatformMBeanServer(), name );
+    }
+
+  public synchronized ObjectName register( MBeanServer server, String name ) throws JMException
+    {
+    if( objectName != null )
+      throw new IllegalStateException( "already registered as: " + objectName );
+
+    objectName = server.registerMBean( this, createObjectName( name ) ).getObjectName();
+
+    return objectName;
+    }
+
+  public void unregister() throws JMException
+    {
+    unregister( ManagementFactory.getPlatformMBeanServer() );
+    }
+
+  public synchronized void unregister( MBeanServer server ) throws JMException
+    {
+    if( objectName == null )
+      return;
+
+    server.unregisterMBean( objectName );
+
+    objectName = null;
+    }
+
+  @Override
+  public String getParserClass()
+    {
+    return parser.getClass().getName();
+    }
+
+  @Override
+  public long getParseCount()
+    {
+    return counters.getParses();
+    }
+
+  @Override
+  public long getSyntaxErrorCount()
+    {
+    return counters.getSyntaxErrors();
+    }
+
+  @Override
+  public long getConversionCount()
+    {
+    return counters.getConversions();
+    }
+
+  @Override
+  public long getConversionErrorCount()
+    {
+    return counters.getConversionErrors();
+    }
+
+  @Override
+  public long getGrammarBuildNanos()
+    {
+    ColdStartTimings timings = parser.getColdStartTimings();
+
+    if( timings.getGrammarNanos() == -1 )
+      return -1;
+
+    return timings.getCreateParserNanos() + timings.getGrammarNanos();
+    }
+
+  @Override
+  public long getFirstRunNanos()
+    {
+    return parser.getColdStartTimings().getFirstRunNanos();
+    }
+
+  @Override
+  public long getMatchP50Nanos()
+    {
+    return latency.getMatch().getP50();
+    }
+
+  @Override
+  public long getMatchP99Nanos()
+    {
+    return latency.getMatch().getP99();
+    }
+
+  @Override
+  public long getMatchP999Nanos()
+    {
+    return latency.getMatch().getP999();
+    }
+
+  @Override
+  public long getConversionP50Nanos()
+    {
+    return latency.getConversion().getP50();
+    }
+
+  @Override
+  public long getConversionP99Nanos()
+    {
+    return latency.getConversion().getP99();
+    }
+
+  @Override
+  public long getConversionP999Nanos()
+    {
+    return latency.getConversion().getP999();
+    }
+
+  @Override
+  public Map<String, Long> getTopMatchedFormats()
+    {
+    if( formatStats == null )
+      return Collections.emptyMap();
+
+    Map<String, Long> top = new LinkedHashMap<>();
+
+    formatStats.getTopMatched( topFormats ).forEach( ( format, count ) -> top.put( format.name(), count ) );
+
+    return top;
+    }
+
+  @Override
+  public void reset()
+    {
+    counters.reset();
+    latency.reset();
+
+    if( formatStats != null )
+      formatStats.reset();
+    }
+  }
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.api;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.BaseTemporalExpressionParser;
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.DurationParser;
+import heretical.parser.temporal.ISODurationParser;
+import heretical.parser.temporal.NaturalDurationParser;
+import heretical.parser.temporal.RelativeDateTimeAdjusterParser;
+import heretical.parser.temporal.format.DateTimeFormats;
+import heretical.parser.temporal.util.AllocationMeter;
+import heretical.parser.temporal.util.FixedClockRule;
+import heretical.parser.temporal.util.FormatSamples;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Fails when the bytes allocated by a parse, or a parse and conversion, grow out of proportion to a baseline
+ * measured in the same run.
+ * <p>
+ * The bytes allocated by a parse vary with the JVM and the JIT, so they are never compared against fixed counts,
+ * only against another parse measured alongside them.
+ */
+public class AllocationBudgetTest
+  {
+  private static final int WARMUP = 1_000;
+  private static final int ITERATIONS = 1_000;
+
+  // the match of every format allocates about the same, no format may allocate more than this times the least
+  private static final double FORMAT_PARSE_RATIO = 1.5;
+
+  // no format may allocate more than this times the median of all formats to parse and convert, samples failing
+  // conversion pay for the exception, about twice the median
+  private static final double FORMAT_CONVERT_RATIO = 3.0;
+
+  // a fast failed syntax error skips error reporting, it must allocate less than this share of a reported one,
+  // about half for the small grammars and a tenth for the date time grammar
+  private static final double FAST_FAIL_RATIO = 0.75;
+
+  @Rule
+  public FixedClockRule now = new FixedClockRule( "2015-02-10T02:04:30Z" );
+
+  private Context context = new Context( now.clock() );
+
+  @Before
+  public void setUp()
+    {
+    assumeTrue( "thread allocation measurement is unsupported", AllocationMeter.isSupported() );
+    }
+
+  @Test
+  public void absoluteFormats()
+    {
+    AbsoluteDateTimeParser parser = new AbsoluteDateTimeParser( context );
+
+    // warm up all the formats first, so the early formats are not measured against a cold grammar
+    for( DateTimeFormats.DateTimeParser format : DateTimeFormats.DateTimeParser.values() )
+      AllocationMeter.bytesPerCall( 0, WARMUP / 10, () -> convert( parser, FormatSamples.sample( format ) ) );
+
+    Map<DateTimeFormats.DateTimeParser, Long> parses = new EnumMap<>( DateTimeFormats.DateTimeParser.class );
+    Map<DateTimeFormats.DateTimeParser, Long> converts = new EnumMap<>( DateTimeFormats.DateTimeParser.class );
+
+    for( DateTimeFormats.DateTimeParser format : DateTimeFormats.DateTimeParser.values() )
+      {
+      String sample = FormatSamples.sample( format );
+
+      parses.put( format, AllocationMeter.bytesPerCall( WARMUP, ITERATIONS, () -> parser.parse( sample ) ) );
+      converts.put( format, AllocationMeter.bytesPerCall( WARMUP, ITERATIONS, () -> convert( parser, sample ) ) );
+      }
+
+    long parseBudget = (long) ( parses.values().stream().mapToLong( Long::longValue ).min().getAsLong() * FORMAT_PARSE_RATIO );
+    long convertBudget = (long) ( median( converts.values() ) * FORMAT_CONVERT_RATIO );
+
+    List<String> failures = new ArrayList<>();
+
+    for( DateTimeFormats.DateTimeParser format : DateTimeFormats.DateTimeParser.values() )
+      {
+      if( parses.get( format ) > parseBudget )
+        failures.add( String.format( "%s parse: %d > %d", format, parses.get( format ), parseBudget ) );
+
+      if( converts.get( format ) > convertBudget )
+        failures.add( String.format( "%s convert: %d > %d", format, converts.get( format ), convertBudget ) );
+      }
+
+    assertTrue( "over budget: " + failures, failures.isEmpty() );
+    }
+
+  @Test
+  public void absolute()
+    {
+    assertBudgets( () -> new AbsoluteDateTimeParser( context ), "2015-02-10T02:04:30+00:00", "N/A" );
+    }
+
+  @Test
+  public void duration()
+    {
+    assertBudgets( () -> new DurationParser( context ), "10 days", "N/A" );
+    assertBudgets( () -> new DurationParser( context ), "PT20.345S", "N/A" );
+    }
+
+  @Test
+  public void durationNatural()
+    {
+    assertBudgets( () -> new NaturalDurationParser( context ), "10,000 seconds", "N/A" );
+    }
+
+  @Test
+  public void durationISO()
+    {
+    assertBudgets( () -> new ISODurationParser( context ), "PT20.345S", "N/A" );
+    }
+
+  @Test
+  public void adjuster()
+    {
+    assertBudgets( () -> new RelativeDateTimeAdjusterParser( context ), "-120m@s", "N/A" );
+    }
+
+  /**
+   * A pooled parse must allocate less than a parse creating its own runner, and a fast failed syntax error far less
+   * than a reported one.
+   */
+  private void assertBudgets( Supplier<BaseTemporalExpressionParser<?, ?, ?>> factory, String value, String invalid )
+    {
+    BaseTemporalExpressionParser<?, ?, ?> parser = factory.get();
+    BaseTemporalExpressionParser<?, ?, ?> pooled = factory.get();
+    BaseTemporalExpressionParser<?, ?, ?> fastFail = factory.get();
+
+    pooled.setParserRunnerPoolSize( 1 );
+    fastFail.setFastFail( true );
+
+    long unpooledBytes = AllocationMeter.bytesPerCall( WARMUP, ITERATIONS, () -> parser.parse( value ) );
+    long pooledBytes = AllocationMeter.bytesPerCall( WARMUP, ITERATIONS, () -> pooled.parse( value ) );
+
+    assertTrue( String.format( "%s pooled over budget for: %s, %d >= %d", name( parser ), value, pooledBytes, unpooledBytes ), pooledBytes < unpooledBytes );
+
+    long reportedBytes = AllocationMeter.bytesPerCall( WARMUP, ITERATIONS, () -> convert( parser, invalid ) );
+    long fastFailBytes = AllocationMeter.bytesPerCall( WARMUP, ITERATIONS, () -> convert( fastFail, invalid ) );
+    long fastFailBudget = (long) ( reportedBytes * FAST_FAIL_RATIO );
+
+    assertTrue( String.format( "%s fast fail over budget for: %s, %d > %d", name( parser ), invalid, fastFailBytes, fastFailBudget ), fastFailBytes <= fastFailBudget );
+    }
+
+  private static String name( BaseTemporalExpressionParser<?, ?, ?> parser )
+    {
+    return parser.getClass().getSimpleName();
+    }
+
+  private static long median( Collection<Long> values )
+    {
+    List<Long> sorted = new ArrayList<>( values );
+
+    Collections.sort( sorted );
+
+    return sorted.get( sorted.size() / 2 );
+    }
+
+  private static void convert( BaseTemporalExpressionParser<?, ?, ?> parser, String value )
+    {
+    try
+      {
+      parser.parse( value ).getResult();
+      }
+    catch( RuntimeException exception )
+      {
+      // failures are measured too
+      }
+    }
+  }
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.api;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.TemporalResult;
+import heretical.parser.temporal.expression.DateTimeExp;
+import heretical.parser.temporal.util.FixedClockRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies UTF-8 and ASCII bytes parse in place to the same results as their decoded strings.
+ */
+public class ByteInputTest
+  {
+  @Rule
+  public FixedClockRule now = new FixedClockRule( "2015-02-10T02:04:30Z" );
+
+  private Context context = new Context( now.clock() );
+
+  @Test
+  public void byteInput()
+    {
+    AbsoluteDateTimeParser parser = new AbsoluteDateTimeParser( context );
+    Instant expected = Instant.parse( "2015-02-10T02:04:30Z" );
+
+    byte[] bytes = "INFO 2015-02-10T02:04:30+00:00 request complete".getBytes( StandardCharsets.US_ASCII );
+
+    assertEquals( expected, parser.parse( bytes, 5, 25 ).getResult() );
+    assertEquals( expected, parser.parse( ByteBuffer.wrap( bytes, 5, 25 ) ).getResult() );
+
+    ByteBuffer direct = ByteBuffer.allocateDirect( 64 );
+
+    direct.put( bytes ).flip().position( 5 ).limit( 30 );
+
+    assertEquals( expected, parser.parse( direct ).getResult() );
+    assertEquals( 5, direct.position() );
+
+    byte[] utf8 = "2015-02-10T02:04:30+00:00 \u00e9t\u00e9".getBytes( StandardCharsets.UTF_8 );
+
+    assertEquals( expected, parser.parse( utf8, 0, 25 ).getResult() );
+
+    TemporalResult<DateTimeExp, Instant> failed = parser.parse( utf8, 0, utf8.length );
+
+    assertFalse( failed.matched() );
+    assertTrue( failed.prettyPrintErrors().contains( "\u00e9t\u00e9" ) );
+    }
+  }
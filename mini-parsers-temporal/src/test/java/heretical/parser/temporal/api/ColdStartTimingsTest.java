@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.api;
+
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.ColdStartTimings;
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.GrammarRegistry;
+import heretical.parser.temporal.grammar.DateTimeGrammar;
+import heretical.parser.temporal.util.FixedClockRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies the first parse populates every cold start timing, and later parses do not change them.
+ * <p>
+ * The first run must not include the creation of the grammar it runs.
+ */
+public class ColdStartTimingsTest
+  {
+  @Rule
+  public FixedClockRule now = new FixedClockRule( "2015-02-10T02:04:30Z" );
+
+  private Context context = new Context( now.clock() );
+
+  @Test
+  public void coldStartTimings()
+    {
+    AbsoluteDateTimeParser parser = new AbsoluteDateTimeParser( context );
+
+    ColdStartTimings timings = parser.getColdStartTimings();
+
+    assertFalse( timings.isComplete() );
+    assertEquals( -1, timings.getFirstRunNanos() );
+
+    parser.parseOrFail( "2015-02-10T02:04:30+00:00" );
+
+    timings = parser.getColdStartTimings();
+
+    assertTrue( timings.isComplete() );
+    assertTrue( timings.getTotalNanos() > 0 );
+
+    parser.parseOrFail( "2015-02-10T02:04:30+00:00" );
+
+    assertEquals( timings.getFirstRunNanos(), parser.getColdStartTimings().getFirstRunNanos() );
+    }
+
+  @Test
+  public void firstRunExcludesGrammar()
+    {
+    // a parser class of its own, so its grammar is built by its first parse
+    AbsoluteDateTimeParser parser = new AbsoluteDateTimeParser( context )
+      {
+      };
+
+    assertFalse( GrammarRegistry.getInstance().contains( parser.getClass(), DateTimeGrammar.class ) );
+
+    parser.parseOrFail( "2015-02-10T02:04:30+00:00" );
+
+    ColdStartTimings timings = parser.getColdStartTimings();
+
+    assertTrue( timings.toString(), timings.getFirstRunNanos() < timings.getCreateParserNanos() + timings.getGrammarNanos() );
+    }
+  }
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.api;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.BaseTemporalExpressionParser;
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.DurationParser;
+import heretical.parser.temporal.RelativeDateTimeAdjusterParser;
+import heretical.parser.temporal.format.DateTimeFormats;
+import heretical.parser.temporal.util.FixedClockRule;
+import heretical.parser.temporal.util.FormatSamples;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Runs a single parser instance from many threads at once, and compares every result to a single threaded parse.
+ */
+public class ConcurrentParseTest
+  {
+  private static final int THREADS = 8;
+  private static final int ROUNDS = 25;
+
+  @Rule
+  public FixedClockRule now = new FixedClockRule( "2015-02-10T02:04:30Z" );
+
+  private Context context = new Context( now.clock() );
+
+  @Test
+  public void absolute() throws Exception
+    {
+    List<String> inputs = new ArrayList<>();
+
+    for( DateTimeFormats.DateTimeParser format : DateTimeFormats.DateTimeParser.values() )
+      inputs.add( FormatSamples.sample( format ) );
+
+    assertConcurrent( new AbsoluteDateTimeParser( context ), inputs );
+    }
+
+  @Test
+  public void absolutePooled() throws Exception
+    {
+    List<String> inputs = new ArrayList<>();
+
+    for( DateTimeFormats.DateTimeParser format : DateTimeFormats.DateTimeParser.values() )
+      inputs.add( FormatSamples.sample( format ) );
+
+    inputs.add( "not a date" );
+
+    AbsoluteDateTimeParser parser = new AbsoluteDateTimeParser( context );
+
+    parser.setParserRunnerPoolSize( 2 );
+
+    assertConcurrent( parser, inputs );
+    }
+
+  @Test
+  public void duration() throws Exception
+    {
+    assertConcurrent( new DurationParser( context ), List.of( "10 days", "PT20.345S", "10,000 seconds", "15min", "2 hours", "P2D" ) );
+    }
+
+  @Test
+  public void adjuster() throws Exception
+    {
+    assertConcurrent( new RelativeDateTimeAdjusterParser( context ), List.of( "-120m@s", "-1d@w1+2h", "now", "@d", "+2y", "-30s" ) );
+    }
+
+  private void assertConcurrent( BaseTemporalExpressionParser<?, ?, ?> parser, List<String> inputs ) throws Exception
+    {
+    Map<String, String> expected = new LinkedHashMap<>();
+
+    for( String input : inputs )
+      expected.put( input, convert( parser, input ) );
+
+    ExecutorService executor = Executors.newFixedThreadPool( THREADS );
+    CountDownLatch start = new CountDownLatch( 1 );
+
+    try
+      {
+      List<Future<Map<String, String>>> futures = new ArrayList<>();
+
+      for( int i = 0; i < THREADS; i++ )
+        {
+        int offset = i;
+
+        futures.add( executor.submit( (Callable<Map<String, String>>) () ->
+        {
+        start.await();
+
+        Map<String, String> results = new LinkedHashMap<>();
+
+        for( int round = 0; round < ROUNDS; round++ )
+          {
+          for( int j = 0; j < inputs.size(); j++ )
+            {
+            String input = inputs.get( ( j + offset ) % inputs.size() );
+            String result = convert( parser, input );
+
+            if( !expected.get( input ).equals( result ) )
+              results.put( input, result );
+            }
+          }
+
+        return results;
+        } ) );
+        }
+
+      start.countDown();
+
+      for( Future<Map<String, String>> future : futures )
+        assertEquals( "mismatched results", Map.of(), future.get() );
+      }
+    finally
+      {
+      executor.shutdownNow();
+      }
+    }
+
+  private static String convert( BaseTemporalExpressionParser<?, ?, ?> parser, String input )
+    {
+    try
+      {
+      return String.valueOf( parser.parse( input ).getResult() );
+      }
+    catch( RuntimeException exception )
+      {
+      return exception.getClass().getName();
+      }
+    }
+  }
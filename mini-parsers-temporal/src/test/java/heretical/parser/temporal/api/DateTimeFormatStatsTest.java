@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.api;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.GrammarRegistry;
+import heretical.parser.temporal.TemporalResult;
+import heretical.parser.temporal.expression.DateTimeExp;
+import heretical.parser.temporal.format.DateTimeFormatMatcher;
+import heretical.parser.temporal.format.DateTimeFormatStats;
+import heretical.parser.temporal.format.DateTimeFormats;
+import heretical.parser.temporal.grammar.DateTimeGrammar;
+import heretical.parser.temporal.grammar.DateTimeGrammarOption;
+import heretical.parser.temporal.util.FixedClockRule;
+import heretical.parser.temporal.util.FormatSamples;
+import org.junit.Rule;
+import org.junit.Test;
+import org.parboiled.Parboiled;
+import org.parboiled.matchers.Matcher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Verifies per format attempt and match counts are collected only when enabled.
+ */
+public class DateTimeFormatStatsTest
+  {
+  @Rule
+  public FixedClockRule now = new FixedClockRule( "2015-02-10T02:04:30Z" );
+
+  private Context context = new Context( now.clock() );
+
+  @Test
+  public void formatStats()
+    {
+    AbsoluteDateTimeParser parser = new AbsoluteDateTimeParser( context );
+    DateTimeFormatStats stats = new DateTimeFormatStats();
+
+    parser.setFormatStats( stats );
+
+    DateTimeFormats.DateTimeParser first = DateTimeFormats.getPatternMap().values().iterator().next();
+
+    parser.parseOrFail( "2015-02-10T02:04:30+00:00" ).getResult();
+
+    assertEquals( 1, stats.getAttempted( DateTimeFormats.DateTimeParser.dateTimeNoMillis ) );
+    assertEquals( 1, stats.getMatched( DateTimeFormats.DateTimeParser.dateTimeNoMillis ) );
+    assertEquals( 0, stats.getConversionFailed( DateTimeFormats.DateTimeParser.dateTimeNoMillis ) );
+    assertEquals( 1, stats.getAttempted( first ) );
+
+    // only the first of the three runs made on a syntax error is counted
+    parser.parse( "N/A" );
+
+    assertEquals( 2, stats.getAttempted( first ) );
+    assertEquals( 0, stats.getMatched( first ) );
+
+    TemporalResult<DateTimeExp, Instant> result = parser.parseOrFail( FormatSamples.sample( DateTimeFormats.DateTimeParser.yearMonthDayHourMinSecZ ) );
+
+    try
+      {
+      result.getResult();
+      fail( "conversion should fail" );
+      }
+    catch( RuntimeException exception )
+      {
+      // ignore
+      }
+
+    assertEquals( 1, stats.getConversionFailed( DateTimeFormats.DateTimeParser.yearMonthDayHourMinSecZ ) );
+
+    stats.reset();
+
+    assertEquals( 0, stats.getAttempted( first ) );
+    }
+
+  @Test
+  public void formatMatchersOnlyWithStats()
+    {
+    Set<DateTimeGrammarOption> options = EnumSet.of( DateTimeGrammarOption.formatMatchers );
+
+    assertEquals( 0, countFormatMatchers( Parboiled.createParser( DateTimeGrammar.class ).Root() ) );
+    assertEquals( DateTimeFormats.getPatternMap().size(), countFormatMatchers( Parboiled.createParser( DateTimeGrammar.class, options ).Root() ) );
+
+    AbsoluteDateTimeParser parser = new AbsoluteDateTimeParser( context );
+
+    parser.setFormatStats( new DateTimeFormatStats() );
+
+    parser.parseOrFail( "2015-02-10T02:04:30+00:00" ).getResult();
+
+    assertTrue( GrammarRegistry.getInstance().contains( AbsoluteDateTimeParser.class, DateTimeGrammar.class, options ) );
+    }
+
+  @Test
+  public void formatStatsChangedOnPooledParser()
+    {
+    AbsoluteDateTimeParser parser = new AbsoluteDateTimeParser( context );
+
+    parser.setParserRunnerPoolSize( 1 );
+
+    parser.parseOrFail( "2015-02-10T02:04:30+00:00" );
+
+    DateTimeFormatStats stats = new DateTimeFormatStats();
+
+    parser.setFormatStats( stats );
+
+    parser.parseOrFail( "2015-02-10T02:04:30+00:00" );
+
+    assertEquals( 1, stats.getMatched( DateTimeFormats.DateTimeParser.dateTimeNoMillis ) );
+
+    DateTimeFormatStats replaced = new DateTimeFormatStats();
+
+    parser.setFormatStats( replaced );
+
+    parser.parseOrFail( "2015-02-10T02:04:30+00:00" );
+
+    assertEquals( 1, stats.getMatched( DateTimeFormats.DateTimeParser.dateTimeNoMillis ) );
+    assertEquals( 1, replaced.getMatched( DateTimeFormats.DateTimeParser.dateTimeNoMillis ) );
+    }
+
+  private static int countFormatMatchers( org.parboiled.Rule rule )
+    {
+    Set<Matcher> seen = Collections.newSetFromMap( new IdentityHashMap<>() );
+
+    return countFormatMatchers( (Matcher) rule, seen );
+    }
+
+  private static int countFormatMatchers( Matcher matcher, Set<Matcher> seen )
+    {
+    if( !seen.add( matcher ) )
+      return 0;
+
+    int count = matcher instanceof DateTimeFormatMatcher ? 1 : 0;
+
+    for( Matcher child : matcher.getChildren() )
+      count += countFormatMatchers( child, seen );
+
+    return count;
+    }
+  }
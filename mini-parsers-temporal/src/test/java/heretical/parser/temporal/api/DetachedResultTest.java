@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.api;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.DetachedResult;
+import heretical.parser.temporal.DurationParser;
+import heretical.parser.temporal.ParseStatus;
+import heretical.parser.temporal.format.DateTimeFormats;
+import heretical.parser.temporal.util.FixedClockRule;
+import heretical.parser.temporal.util.FormatSamples;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies detached results hold the status, value, format, and errors of a parse without any parse state.
+ */
+public class DetachedResultTest
+  {
+  @Rule
+  public FixedClockRule now = new FixedClockRule( "2015-02-10T02:04:30Z" );
+
+  private Context context = new Context( now.clock() );
+
+  @Test
+  public void detached()
+    {
+    AbsoluteDateTimeParser parser = new AbsoluteDateTimeParser( context );
+
+    DetachedResult<Instant> result = parser.parseDetached( "2015-02-10T02:04:30+00:00" );
+
+    assertTrue( result.matched() );
+    assertEquals( ParseStatus.OK, result.getStatus() );
+    assertEquals( Instant.parse( "2015-02-10T02:04:30Z" ), result.getValue() );
+    assertEquals( DateTimeFormats.DateTimeParser.dateTimeNoMillis, result.getFormat() );
+    assertEquals( 0, result.getErrorOffsets().length );
+    assertNull( result.getParsingResult() );
+
+    DetachedResult<Instant> failed = parser.parseDetached( "2015-02-10T02:04:30 nope" );
+
+    assertFalse( failed.matched() );
+    assertEquals( ParseStatus.SYNTAX_ERROR, failed.getStatus() );
+    assertNull( failed.getValue() );
+    assertNull( failed.getFailure() );
+    assertEquals( parser.parse( "2015-02-10T02:04:30 nope" ).getErrorStartIndex( 0 ), failed.getErrorOffsets()[ 0 ] );
+
+    parser.setFastFail( true );
+
+    assertNull( parser.parseDetached( "2015-02-10T02:04:30 nope" ).getErrorOffsets() );
+
+    parser.setDebug( true );
+
+    assertTrue( parser.parseDetached( "2015-02-10T02:04:30 nope" ).getParsingResult().hasErrors() );
+
+    DetachedResult<Duration> duration = new DurationParser( context ).parseDetached( "10 days" );
+
+    assertEquals( Duration.ofDays( 10 ), duration.getValue() );
+    assertNull( duration.getFormat() );
+    }
+
+  @Test
+  public void detachedConversionError()
+    {
+    AbsoluteDateTimeParser parser = new AbsoluteDateTimeParser( context );
+    String sample = FormatSamples.sample( DateTimeFormats.DateTimeParser.yearMonthDayHourMinSecZ );
+
+    DetachedResult<Instant> result = parser.parseDetached( sample );
+
+    assertTrue( result.matched() );
+    assertEquals( ParseStatus.CONVERSION_ERROR, result.getStatus() );
+    assertNull( result.getValue() );
+    assertEquals( DateTimeFormats.DateTimeParser.yearMonthDayHourMinSecZ, result.getFormat() );
+    assertEquals( 0, result.getErrorOffsets().length );
+    assertNotNull( result.getFailure() );
+    assertEquals( result, parser.parseDetached( sample ) );
+    }
+  }
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.api;
+
+import java.time.Instant;
+
+import heretical.parser.common.ParserSyntaxException;
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.TemporalResult;
+import heretical.parser.temporal.expression.DateTimeExp;
+import heretical.parser.temporal.format.DateTimeFormatStats;
+import heretical.parser.temporal.util.FixedClockRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Verifies fast fail parses defer their error report, and the deferred report matches a reporting parse.
+ */
+public class FastFailTest
+  {
+  @Rule
+  public FixedClockRule now = new FixedClockRule( "2015-02-10T02:04:30Z" );
+
+  private Context context = new Context( now.clock() );
+
+  @Test
+  public void fastFail()
+    {
+    AbsoluteDateTimeParser reporting = new AbsoluteDateTimeParser( context );
+    AbsoluteDateTimeParser parser = new AbsoluteDateTimeParser( context );
+
+    parser.setFastFail( true );
+    parser.setFormatStats( new DateTimeFormatStats() );
+
+    assertEquals( Instant.parse( "2015-02-10T02:04:30Z" ), parser.parseOrFail( "2015-02-10T02:04:30+00:00" ).getResult() );
+
+    TemporalResult<DateTimeExp, Instant> expected = reporting.parse( "2015-02-10T02:04:30 nope" );
+    TemporalResult<DateTimeExp, Instant> result = parser.parse( "2015-02-10T02:04:30 nope" );
+
+    assertFalse( result.matched() );
+    assertTrue( result.hasErrors() );
+    assertTrue( result.isErrorReportDeferred() );
+    assertEquals( expected.getNumErrors(), result.getNumErrors() );
+    assertFalse( result.isErrorReportDeferred() );
+    assertEquals( expected.getErrorMessages(), result.getErrorMessages() );
+    assertEquals( expected.getErrorStartIndex( 0 ), result.getErrorStartIndex( 0 ) );
+
+    try
+      {
+      parser.parseOrFail( "2015-02-10T02:04:30 nope" );
+      fail();
+      }
+    catch( ParserSyntaxException exception )
+      {
+      assertEquals( new ParserSyntaxException( expected ).getMessage(), exception.getMessage() );
+      }
+    }
+  }
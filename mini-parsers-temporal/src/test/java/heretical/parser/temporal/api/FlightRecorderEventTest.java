@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.api;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.DurationParser;
+import heretical.parser.temporal.event.ConvertEvent;
+import heretical.parser.temporal.event.ParseEvent;
+import heretical.parser.temporal.util.FixedClockRule;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ */
+public class FlightRecorderEventTest
+  {
+  @Rule
+  public FixedClockRule now = new FixedClockRule( "2015-02-10T02:04:30Z" );
+
+  private Context context = new Context( now.clock() );
+
+  @Test
+  public void events() throws IOException
+    {
+    AbsoluteDateTimeParser absolute = new AbsoluteDateTimeParser( context );
+    DurationParser duration = new DurationParser( context );
+
+    // not recorded, no event is created
+    assertFalse( ParseEvent.isRecording() );
+    assertFalse( ConvertEvent.isRecording() );
+
+    absolute.parse( "2015-02-10T02:04:30+00:00" ).getResult();
+
+    List<RecordedEvent> events;
+
+    try( Recording recording = new Recording() )
+      {
+      recording.enable( ParseEvent.NAME ).withThreshold( Duration.ZERO );
+      recording.enable( ConvertEvent.NAME ).withThreshold( Duration.ZERO );
+      recording.start();
+
+      assertTrue( ParseEvent.isRecording() );
+      assertTrue( ConvertEvent.isRecording() );
+
+      absolute.parse( "2015-02-10T02:04:30+00:00" ).getResult();
+      absolute.parse( "N/A" );
+      duration.parse( "10 days" ).getResult();
+
+      recording.stop();
+
+      Path path = Files.createTempFile( "parser", ".jfr" );
+
+      try
+        {
+        recording.dump( path );
+        events = RecordingFile.readAllEvents( path );
+        }
+      finally
+        {
+        Files.deleteIfExists( path );
+        }
+      }
+
+    List<RecordedEvent> parses = filter( events, ParseEvent.NAME );
+    List<RecordedEvent> converts = filter( events, ConvertEvent.NAME );
+
+    assertEquals( 3, parses.size() );
+    assertEquals( 2, converts.size() );
+
+    RecordedEvent parse = parses.get( 0 );
+
+    assertEquals( AbsoluteDateTimeParser.class.getName(), parse.getClass( "parserClass" ).getName() );
+    assertEquals( "dateTimeNoMillis", parse.getString( "expression" ) );
+    assertEquals( 25, parse.getInt( "inputLength" ) );
+    assertTrue( parse.getBoolean( "success" ) );
+
+    assertFalse( parses.get( 1 ).getBoolean( "success" ) );
+
+    RecordedEvent convert = converts.get( 1 );
+
+    assertEquals( DurationParser.class.getName(), convert.getClass( "parserClass" ).getName() );
+    assertEquals( "NaturalDurationExp", convert.getString( "expression" ) );
+    assertTrue( convert.getBoolean( "success" ) );
+    }
+
+  private static List<RecordedEvent> filter( List<RecordedEvent> events, String name )
+    {
+    return events.stream()
+      .filter( event -> event.getEventType().getName().equals( name ) )
+      .collect( Collectors.toList() );
+    }
+  }
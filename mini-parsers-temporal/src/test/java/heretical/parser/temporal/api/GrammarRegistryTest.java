@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.api;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.GrammarRegistry;
+import heretical.parser.temporal.grammar.DateTimeGrammar;
+import heretical.parser.temporal.util.FixedClockRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies parsers of the same class share a single registered grammar, whatever their Context.
+ */
+public class GrammarRegistryTest
+  {
+  @Rule
+  public FixedClockRule now = new FixedClockRule( "2015-02-10T02:04:30Z" );
+
+  private Context context = new Context( now.clock() );
+
+  @Test
+  public void sharedGrammar()
+    {
+    AbsoluteDateTimeParser utc = new AbsoluteDateTimeParser( new Context( Clock.fixed( now.getNow(), ZoneOffset.UTC ), now.getLocale() ) );
+    AbsoluteDateTimeParser newYork = new AbsoluteDateTimeParser( new Context( Clock.fixed( now.getNow(), ZoneId.of( "America/New_York" ) ), now.getLocale() ) );
+
+    Instant utcResult = utc.parseOrFail( "2015-02-10" ).getResult();
+
+    assertTrue( GrammarRegistry.getInstance().contains( AbsoluteDateTimeParser.class, DateTimeGrammar.class ) );
+
+    int size = GrammarRegistry.getInstance().size();
+
+    Instant newYorkResult = newYork.parseOrFail( "2015-02-10" ).getResult();
+
+    assertEquals( size, GrammarRegistry.getInstance().size() );
+    assertEquals( utc.getColdStartTimings().getGrammarNanos(), newYork.getColdStartTimings().getGrammarNanos() );
+
+    assertEquals( Instant.parse( "2015-02-10T00:00:00Z" ), utcResult );
+    assertEquals( Instant.parse( "2015-02-10T05:00:00Z" ), newYorkResult );
+    }
+  }
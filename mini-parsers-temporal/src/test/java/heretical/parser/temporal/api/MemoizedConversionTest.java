@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.api;
+
+import java.time.Instant;
+
+import heretical.parser.common.ParserSyntaxException;
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.ParseCounters;
+import heretical.parser.temporal.RelativeDateTimeAdjusterParser;
+import heretical.parser.temporal.TemporalResult;
+import heretical.parser.temporal.expression.AdjusterExp;
+import heretical.parser.temporal.expression.DateTimeExp;
+import heretical.parser.temporal.format.DateTimeFormats;
+import heretical.parser.temporal.util.FixedClockRule;
+import heretical.parser.temporal.util.FormatSamples;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Verifies a result converts once, lazily by default or eagerly when enabled, and replays conversion failures,
+ * an unmatched result is never converted.
+ */
+public class MemoizedConversionTest
+  {
+  @Rule
+  public FixedClockRule now = new FixedClockRule( "2015-02-10T02:04:30Z" );
+
+  private Context context = new Context( now.clock() );
+
+  @Test
+  public void memoizedConversion()
+    {
+    RelativeDateTimeAdjusterParser parser = new RelativeDateTimeAdjusterParser( context );
+    ParseCounters counters = new ParseCounters();
+
+    parser.setParseCounters( counters );
+
+    TemporalResult<AdjusterExp, Instant> result = parser.parseOrFail( "-120m@s" );
+
+    assertEquals( -1, result.getConversionDurationNanos() );
+    assertEquals( result.getResult(), result.getResult() );
+    assertEquals( 1, counters.getConversions() );
+
+    AbsoluteDateTimeParser absolute = new AbsoluteDateTimeParser( context );
+
+    absolute.setParseCounters( counters );
+    absolute.setEagerConversion( true );
+
+    TemporalResult<DateTimeExp, Instant> eager = absolute.parseOrFail( "2015-02-10T02:04:30+00:00" );
+
+    assertEquals( 2, counters.getConversions() );
+    assertTrue( eager.getConversionDurationNanos() >= 0 );
+    assertEquals( Instant.parse( "2015-02-10T02:04:30Z" ), eager.getResult() );
+    assertEquals( 2, counters.getConversions() );
+
+    TemporalResult<DateTimeExp, Instant> failed = absolute.parseOrFail( FormatSamples.sample( DateTimeFormats.DateTimeParser.basicDateTimeNoMillisSpaceZZZ ) );
+
+    assertEquals( 1, counters.getConversionErrors() );
+
+    RuntimeException first = null;
+
+    try
+      {
+      failed.getResult();
+      fail();
+      }
+    catch( RuntimeException exception )
+      {
+      first = exception;
+      }
+
+    try
+      {
+      failed.getResult();
+      fail();
+      }
+    catch( RuntimeException exception )
+      {
+      assertTrue( first == exception );
+      }
+
+    assertEquals( 1, counters.getConversionErrors() );
+    }
+
+  @Test
+  public void unmatchedNotConverted()
+    {
+    AbsoluteDateTimeParser parser = new AbsoluteDateTimeParser( context );
+    ParseCounters counters = new ParseCounters();
+
+    parser.setParseCounters( counters );
+
+    TemporalResult<DateTimeExp, Instant> result = parser.parse( "N/A" );
+
+    try
+      {
+      result.getResult();
+      fail();
+      }
+    catch( ParserSyntaxException exception )
+      {
+      // expected
+      }
+
+    assertEquals( -1, result.getConversionDurationNanos() );
+    assertEquals( 0, counters.getConversions() );
+    assertEquals( 0, counters.getConversionErrors() );
+    }
+  }
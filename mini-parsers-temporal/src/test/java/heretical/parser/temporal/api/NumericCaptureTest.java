@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.api;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.NaturalDurationParser;
+import heretical.parser.temporal.RelativeDateTimeAdjusterParser;
+import heretical.parser.temporal.TemporalResult;
+import heretical.parser.temporal.expression.AdjusterExp;
+import heretical.parser.temporal.util.FixedClockRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies numbers are captured in place, ignoring commas, and that overflows fail the match.
+ */
+public class NumericCaptureTest
+  {
+  @Rule
+  public FixedClockRule now = new FixedClockRule( "2015-02-10T02:04:30Z" );
+
+  private Context context = new Context( now.clock() );
+
+  @Test
+  public void numericCapture()
+    {
+    NaturalDurationParser natural = new NaturalDurationParser( context );
+
+    assertEquals( Duration.ofSeconds( 10_000 ), natural.parseOrFail( "10,000 seconds" ).getResult() );
+    assertEquals( Duration.ofMinutes( 3 ), natural.parseOrFail( "3.0 min" ).getResult() );
+    assertEquals( Duration.ofDays( 1 ), natural.parseOrFail( "1,0,0,0ms" ).getResult().multipliedBy( 86_400 ) );
+
+    RelativeDateTimeAdjusterParser adjuster = new RelativeDateTimeAdjusterParser( context );
+
+    assertEquals( now.getNow().minus( 2_147_483_647, ChronoUnit.SECONDS ), adjuster.parseOrFail( "-2,147,483,647s" ).getResult() );
+
+    // overflows fail the match, instead of throwing during the parse
+    TemporalResult<AdjusterExp, Instant> overflow = adjuster.parse( "-2147483648s" );
+
+    assertFalse( overflow.matched() );
+    assertTrue( overflow.hasErrors() );
+    assertFalse( adjuster.parse( "@d+99999999999h" ).matched() );
+    }
+  }
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.api;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+import heretical.parser.common.ParseBudget;
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.DurationParser;
+import heretical.parser.temporal.ParseHolder;
+import heretical.parser.temporal.ParseStatus;
+import heretical.parser.temporal.TemporalResult;
+import heretical.parser.temporal.expression.DateTimeExp;
+import heretical.parser.temporal.format.DateTimeFormatStats;
+import heretical.parser.temporal.util.FixedClockRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Verifies a parse gives up once it exceeds its budget, and every later parse starts over.
+ */
+public class ParseBudgetTest
+  {
+  @Rule
+  public FixedClockRule now = new FixedClockRule( "2015-02-10T02:04:30Z" );
+
+  private Context context = new Context( now.clock() );
+
+  @Test
+  public void parseBudget()
+    {
+    AbsoluteDateTimeParser absolute = new AbsoluteDateTimeParser( context );
+    AbsoluteDateTimeParser bounded = new AbsoluteDateTimeParser( context );
+
+    bounded.setParseBudget( ParseBudget.ofSteps( 1_000_000 ) );
+
+    for( String sample : Arrays.asList( "2015-02-10T02:04:30+00:00", "February 10th 2015, 02:04:30.345", "2015-02-10T02:04:30.345+0X" ) )
+      {
+      TemporalResult<DateTimeExp, Instant> expected = absolute.parse( sample );
+      TemporalResult<DateTimeExp, Instant> result = bounded.parse( sample );
+
+      assertEquals( sample, expected.getStatus(), result.getStatus() );
+      assertEquals( sample, expected.getErrorMessages(), result.getErrorMessages() );
+      assertFalse( sample, result.isBudgetExceeded() );
+      }
+
+    bounded.setParseBudget( ParseBudget.ofSteps( 100 ) );
+    bounded.setParserRunnerPoolSize( 1 );
+
+    String digits = "12345678901234567890123456789012345678901234567890x";
+    TemporalResult<DateTimeExp, Instant> exceeded = bounded.parse( digits );
+
+    assertEquals( ParseStatus.BUDGET_EXCEEDED, exceeded.getStatus() );
+    assertTrue( exceeded.isBudgetExceeded() );
+    assertNull( exceeded.getExpression() );
+    assertEquals( 1, exceeded.getNumErrors() );
+    assertTrue( exceeded.getErrorMessages().get( 0 ).startsWith( "parse budget exceeded after 101 steps" ) );
+    assertEquals( ParseStatus.SYNTAX_ERROR, absolute.parse( digits ).getStatus() );
+
+    ParseHolder<Instant> holder = new ParseHolder<>();
+
+    assertEquals( ParseStatus.BUDGET_EXCEEDED, bounded.tryParse( digits, holder ) );
+
+    // the pooled runner starts over after giving up
+    bounded.setParseBudget( ParseBudget.ofSteps( 1_000_000 ) );
+
+    assertEquals( ParseStatus.OK, bounded.parse( "20150210" ).getStatus() );
+
+    // the format stats runner enforces the same budget
+    bounded.setFastFail( true );
+    bounded.setFormatStats( new DateTimeFormatStats() );
+    bounded.setParseBudget( ParseBudget.ofTime( Duration.ofNanos( 1 ) ) );
+
+    assertEquals( ParseStatus.BUDGET_EXCEEDED, bounded.parse( digits ).getStatus() );
+
+    DurationParser duration = new DurationParser( context );
+
+    duration.setParseBudget( ParseBudget.ofSteps( 50 ) );
+
+    assertEquals( ParseStatus.BUDGET_EXCEEDED, duration.parse( "1,000,000,000,000,000,000,000,000,000 days" ).getStatus() );
+
+    try
+      {
+      new ParseBudget( -1, 0 );
+      fail();
+      }
+    catch( IllegalArgumentException exception )
+      {
+      // expected
+      }
+    }
+
+  @Test
+  public void exceededThenParsed()
+    {
+    DurationParser bounded = new DurationParser( context );
+    DurationParser duration = new DurationParser( context );
+
+    bounded.setParseBudget( ParseBudget.ofSteps( 1_000 ) );
+
+    String amount = "1,000,000,000,000,000,000,000,000,000,000,000,000,000,000,000,000,000,000,000 days";
+
+    // giving up leaves every rule variable frame it entered, later parses are not affected
+    for( int i = 0; i < 100; i++ )
+      assertEquals( ParseStatus.BUDGET_EXCEEDED, bounded.parse( amount ).getStatus() );
+
+    for( String expression : Arrays.asList( "10 days", "PT20.345S", "90 seconds" ) )
+      assertEquals( expression, duration.parseOrFail( expression ).getResult(), bounded.parseOrFail( expression ).getResult() );
+    }
+
+  @Test
+  public void deferredErrorsWithinBudget()
+    {
+    AbsoluteDateTimeParser bounded = new AbsoluteDateTimeParser( context );
+
+    bounded.setPrefilter( true );
+    bounded.setParseBudget( ParseBudget.ofSteps( 100 ) );
+
+    TemporalResult<DateTimeExp, Instant> result = bounded.parse( "N/A" );
+
+    assertTrue( result.isErrorReportDeferred() );
+
+    // the deferred error report is bounded by the same budget as the parse
+    assertEquals( 1, result.getNumErrors() );
+    assertTrue( result.getErrorMessages().get( 0 ).startsWith( "parse budget exceeded after 101 steps" ) );
+    }
+  }
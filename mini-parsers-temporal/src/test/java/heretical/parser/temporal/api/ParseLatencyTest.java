@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.api;
+
+import java.time.Instant;
+
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.ParseLatency;
+import heretical.parser.temporal.TemporalResult;
+import heretical.parser.temporal.expression.DateTimeExp;
+import heretical.parser.temporal.util.FixedClockRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies match and conversion latencies are recorded per parse and can be merged.
+ */
+public class ParseLatencyTest
+  {
+  @Rule
+  public FixedClockRule now = new FixedClockRule( "2015-02-10T02:04:30Z" );
+
+  private Context context = new Context( now.clock() );
+
+  @Test
+  public void parseLatency()
+    {
+    AbsoluteDateTimeParser parser = new AbsoluteDateTimeParser( context );
+    ParseLatency latency = new ParseLatency();
+
+    parser.setParseLatency( latency );
+
+    for( int i = 0; i < 100; i++ )
+      {
+      TemporalResult<DateTimeExp, Instant> result = parser.parseOrFail( "2015-02-10T02:04:30+00:00" );
+
+      assertTrue( result.getParseDurationNanos() > 0 );
+      assertEquals( -1, result.getConversionDurationNanos() );
+
+      result.getResult();
+
+      assertTrue( result.getConversionDurationNanos() >= 0 );
+      }
+
+    assertEquals( 100, latency.getMatch().getCount() );
+    assertEquals( 100, latency.getConversion().getCount() );
+    assertTrue( latency.getMatch().getP50() <= latency.getMatch().getP99() );
+    assertTrue( latency.getMatch().getP99() <= latency.getMatch().getP999() );
+    assertTrue( latency.getMatch().getP999() <= latency.getMatch().getMax() );
+
+    ParseLatency merged = new ParseLatency();
+
+    merged.merge( latency );
+    merged.merge( latency );
+
+    assertEquals( 200, merged.getMatch().getCount() );
+    assertEquals( latency.getMatch().getP99(), merged.getMatch().getP99() );
+    }
+  }
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.api;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import heretical.parser.common.Result;
+import heretical.parser.common.expression.Expression;
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.BaseTemporalExpressionParser;
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.DateTimeFormatParseException;
+import heretical.parser.temporal.ParseListener;
+import heretical.parser.temporal.TemporalResult;
+import heretical.parser.temporal.expression.DateTimeExp;
+import heretical.parser.temporal.format.DateTimeFormats;
+import heretical.parser.temporal.util.FixedClockRule;
+import heretical.parser.temporal.util.FormatSamples;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Verifies the parse listener is called for every match, syntax error, conversion error and completion.
+ */
+public class ParseListenerTest
+  {
+  @Rule
+  public FixedClockRule now = new FixedClockRule( "2015-02-10T02:04:30Z" );
+
+  private Context context = new Context( now.clock() );
+
+  @Test
+  public void parseListener()
+    {
+    AbsoluteDateTimeParser parser = new AbsoluteDateTimeParser( context );
+    List<String> calls = new ArrayList<>();
+
+    parser.setParseListener( new ParseListener()
+      {
+      @Override
+      public void onMatched( BaseTemporalExpressionParser<?, ?, ?> parser, Expression expression, DateTimeFormats.DateTimeParser format )
+        {
+        calls.add( "matched:" + format );
+        }
+
+      @Override
+      public void onSyntaxError( BaseTemporalExpressionParser<?, ?, ?> parser, Result<?> result )
+        {
+        calls.add( "syntax:" + result.getNumErrors() );
+        }
+
+      @Override
+      public void onConversionError( BaseTemporalExpressionParser<?, ?, ?> parser, Expression expression, RuntimeException exception )
+        {
+        calls.add( "conversion:" + exception.getClass().getSimpleName() );
+        }
+
+      @Override
+      public void onComplete( BaseTemporalExpressionParser<?, ?, ?> parser, boolean matched, long parseNanos )
+        {
+        calls.add( "complete:" + matched );
+        }
+      } );
+
+    parser.parse( "2015-02-10T02:04:30+00:00" ).getResult();
+    parser.parse( "N/A" );
+
+    TemporalResult<DateTimeExp, Instant> result = parser.parse( FormatSamples.sample( DateTimeFormats.DateTimeParser.yearMonthDayHourMinSecZ ) );
+
+    try
+      {
+      result.getResult();
+      fail( "conversion should fail" );
+      }
+    catch( DateTimeFormatParseException exception )
+      {
+      // ignore
+      }
+
+    assertEquals( Arrays.asList(
+      "matched:dateTimeNoMillis", "complete:true",
+      "syntax:1", "complete:false",
+      "matched:yearMonthDayHourMinSecZ", "complete:true", "conversion:DateTimeFormatParseException"
+    ), calls );
+    }
+  }
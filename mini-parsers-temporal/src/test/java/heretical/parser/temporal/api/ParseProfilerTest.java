@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.api;
+
+import java.time.Duration;
+
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.DurationParser;
+import heretical.parser.temporal.ParseProfiler;
+import heretical.parser.temporal.util.FixedClockRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.parboiled.parserunners.ProfilingParseRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies sampled parses are profiled and reported per rule.
+ */
+public class ParseProfilerTest
+  {
+  @Rule
+  public FixedClockRule now = new FixedClockRule( "2015-02-10T02:04:30Z" );
+
+  private Context context = new Context( now.clock() );
+
+  @Test
+  public void parseProfiler()
+    {
+    DurationParser parser = new DurationParser( context );
+    ParseProfiler profiler = new ParseProfiler( 2 );
+
+    parser.setParseProfiler( profiler );
+
+    assertNull( profiler.getReport() );
+
+    for( int i = 0; i < 10; i++ )
+      assertEquals( Duration.ofDays( 10 ), parser.parseOrFail( "10 days" ).getResult() );
+
+    // sampled failures are re-run for their errors
+    assertTrue( parser.parse( "N/A" ).hasErrors() );
+
+    ProfilingParseRunner.Report report = profiler.getReport();
+
+    assertEquals( 6, report.totalRuns );
+    assertTrue( profiler.printReport().contains( "Root" ) );
+
+    profiler.reset();
+
+    assertNull( profiler.getReport() );
+    }
+
+  @Test
+  public void grammarChanged()
+    {
+    DurationParser parser = new DurationParser( context );
+    ParseProfiler profiler = new ParseProfiler( 1 );
+
+    parser.setParseProfiler( profiler );
+
+    parser.parseOrFail( "10 days" );
+    parser.parseOrFail( "10 days" );
+
+    assertEquals( 2, profiler.getReport().totalRuns );
+
+    parser.setLeanGrammar( true );
+
+    // the profiler starts over on the lean grammar
+    assertEquals( Duration.ofDays( 10 ), parser.parseOrFail( "10 days" ).getResult() );
+    assertEquals( 1, profiler.getReport().totalRuns );
+
+    profiler.reset();
+    parser.setLeanGrammar( false );
+
+    assertEquals( Duration.ofDays( 10 ), parser.parseOrFail( "10 days" ).getResult() );
+    assertEquals( 1, profiler.getReport().totalRuns );
+    }
+  }
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.api;
+
+import java.time.Instant;
+
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.TemporalResult;
+import heretical.parser.temporal.expression.DateTimeExp;
+import heretical.parser.temporal.util.FixedClockRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies pooled parse runners return the same results as new runners, including failures.
+ */
+public class ParserRunnerPoolTest
+  {
+  @Rule
+  public FixedClockRule now = new FixedClockRule( "2015-02-10T02:04:30Z" );
+
+  private Context context = new Context( now.clock() );
+
+  @Test
+  public void parserRunnerPool()
+    {
+    AbsoluteDateTimeParser reporting = new AbsoluteDateTimeParser( context );
+    AbsoluteDateTimeParser parser = new AbsoluteDateTimeParser( context );
+
+    parser.setParserRunnerPoolSize( 1 );
+
+    TemporalResult<DateTimeExp, Instant> first = parser.parse( "2015-02-10T02:04:30+00:00" );
+    TemporalResult<DateTimeExp, Instant> failed = parser.parse( "2015-02-10T02:04:30 nope" );
+    TemporalResult<DateTimeExp, Instant> second = parser.parse( "2015-02-11T02:04:30+00:00" );
+
+    assertFalse( first.hasErrors() );
+    assertFalse( second.hasErrors() );
+    assertEquals( Instant.parse( "2015-02-10T02:04:30Z" ), first.getResult() );
+    assertEquals( Instant.parse( "2015-02-11T02:04:30Z" ), second.getResult() );
+    assertEquals( reporting.parse( "2015-02-10T02:04:30 nope" ).getErrorMessages(), failed.getErrorMessages() );
+
+    parser.setFastFail( true );
+
+    failed = parser.parse( "2015-02-10T02:04:30 nope" );
+
+    assertTrue( failed.isErrorReportDeferred() );
+    assertEquals( 1, failed.getNumErrors() );
+    assertEquals( Instant.parse( "2015-02-10T02:04:30Z" ), parser.parseOrFail( "2015-02-10T02:04:30+00:00" ).getResult() );
+    }
+  }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.api;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.DurationParser;
+import heretical.parser.temporal.ParseStatus;
+import heretical.parser.temporal.TemporalResult;
+import heretical.parser.temporal.expression.DateTimeExp;
+import heretical.parser.temporal.format.DateTimeFormats;
+import heretical.parser.temporal.util.FixedClockRule;
+import heretical.parser.temporal.util.FormatSamples;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Verifies prefiltered parsers fail input that can not be a date time the same as the grammar does.
+ */
+public class PrefilterTest
+  {
+  @Rule
+  public FixedClockRule now = new FixedClockRule( "2015-02-10T02:04:30Z" );
+
+  private Context context = new Context( now.clock() );
+
+  @Test
+  public void prefilter()
+    {
+    AbsoluteDateTimeParser absolute = new AbsoluteDateTimeParser( context );
+    AbsoluteDateTimeParser filtered = new AbsoluteDateTimeParser( context );
+
+    filtered.setPrefilter( true );
+
+    List<String> samples = new ArrayList<>();
+
+    for( DateTimeFormats.DateTimeParser format : DateTimeFormats.DateTimeParser.values() )
+      samples.add( FormatSamples.sample( format ) );
+
+    List<String> junk = Arrays.asList( "N/A", "null", "-", "hello world", "free text without any digits in it", "", "   ", "\u2713" );
+
+    samples.addAll( junk );
+    samples.addAll( Arrays.asList( "2015-02-10 /* batch */", "20150210 ", "1234567890123456789012345678901234567890", "2015-02-1O" ) );
+
+    for( String sample : samples )
+      {
+      TemporalResult<DateTimeExp, Instant> expected = absolute.parse( sample );
+      TemporalResult<DateTimeExp, Instant> result = filtered.parse( sample );
+
+      assertEquals( sample, expected.getStatus(), result.getStatus() );
+      assertEquals( sample, expected.getErrorMessages(), result.getErrorMessages() );
+
+      if( expected.getStatus() == ParseStatus.OK )
+        assertEquals( sample, expected.getResult(), result.getResult() );
+      }
+
+    // rejected input never entered the grammar, so its errors were not reported
+    for( String sample : junk )
+      assertTrue( sample, filtered.parse( sample ).isErrorReportDeferred() );
+
+    // a 40 digit id matches the epoch millis format, it only fails conversion
+    assertEquals( ParseStatus.CONVERSION_ERROR, filtered.parse( "1234567890123456789012345678901234567890" ).getStatus() );
+
+    // a comment is only allowed by the default grammar
+    filtered.setLeanGrammar( true );
+
+    assertTrue( filtered.parse( "20150210 /* batch */" ).isErrorReportDeferred() );
+    assertEquals( ParseStatus.OK, filtered.parse( "20150210 " ).getStatus() );
+    }
+
+  @Test
+  public void prefilterUnsupported()
+    {
+    DurationParser duration = new DurationParser( context );
+
+    duration.setPrefilter( false );
+
+    try
+      {
+      duration.setPrefilter( true );
+      fail();
+      }
+    catch( UnsupportedOperationException exception )
+      {
+      // ignore
+      }
+
+    assertFalse( duration.isPrefilter() );
+    }
+  }
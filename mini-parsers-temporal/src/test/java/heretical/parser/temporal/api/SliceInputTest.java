@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.api;
+
+import java.nio.CharBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.TemporalResult;
+import heretical.parser.temporal.expression.DateTimeExp;
+import heretical.parser.temporal.util.FixedClockRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies CharSequence and char[] ranges parse in place to the same results as their copied strings.
+ */
+public class SliceInputTest
+  {
+  @Rule
+  public FixedClockRule now = new FixedClockRule( "2015-02-10T02:04:30Z" );
+
+  private Context context = new Context( now.clock() );
+
+  @Test
+  public void sliceInput()
+    {
+    AbsoluteDateTimeParser parser = new AbsoluteDateTimeParser( context );
+    Instant expected = Instant.parse( "2015-02-10T02:04:30Z" );
+
+    String line = "INFO 2015-02-10T02:04:30+00:00 request complete";
+    char[] chars = line.toCharArray();
+
+    assertEquals( expected, parser.parse( chars, 5, 25 ).getResult() );
+    assertEquals( expected, parser.parse( CharBuffer.wrap( chars, 5, 25 ) ).getResult() );
+    assertEquals( expected, parser.parse( new StringBuilder( "2015-02-10T02:04:30+00:00" ) ).getResult() );
+
+    TemporalResult<DateTimeExp, Instant> failed = parser.parse( chars, 0, 30 );
+
+    Arrays.fill( chars, 'x' );
+
+    assertFalse( failed.matched() );
+    assertTrue( failed.prettyPrintErrors().contains( "INFO 2015" ) );
+
+    parser.setFastFail( true );
+
+    chars = line.toCharArray();
+    failed = parser.parse( chars, 0, 30 );
+
+    Arrays.fill( chars, 'x' );
+
+    assertTrue( failed.isErrorReportDeferred() );
+    assertTrue( failed.prettyPrintErrors().contains( "INFO 2015" ) );
+    }
+  }
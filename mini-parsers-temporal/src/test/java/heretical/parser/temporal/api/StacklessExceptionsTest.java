@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.api;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import heretical.parser.common.ParserSyntaxException;
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.DateTimeFormatParseException;
+import heretical.parser.temporal.ParseStatus;
+import heretical.parser.temporal.TemporalResult;
+import heretical.parser.temporal.expression.DateTimeExp;
+import heretical.parser.temporal.format.DateTimeFormats;
+import heretical.parser.temporal.util.FixedClockRule;
+import heretical.parser.temporal.util.FormatSamples;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Verifies syntax and conversion exceptions skip capturing their stack when the Context asks for it.
+ */
+public class StacklessExceptionsTest
+  {
+  @Rule
+  public FixedClockRule now = new FixedClockRule( "2015-02-10T02:04:30Z" );
+
+  private Context context = new Context( now.clock() );
+
+  @Test
+  public void stacklessExceptions()
+    {
+    Context stackless = new Context( now.clock() );
+
+    stackless.setStacklessExceptions( true );
+
+    AbsoluteDateTimeParser parser = new AbsoluteDateTimeParser( stackless );
+
+    try
+      {
+      parser.parseOrFail( "2015-02-10T02:04:30 nope" );
+      fail();
+      }
+    catch( ParserSyntaxException exception )
+      {
+      assertEquals( 0, exception.getStackTrace().length );
+      assertTrue( exception.getMessage().startsWith( ParserSyntaxException.SEARCH_PARSE_ERROR ) );
+      }
+
+    String sample = FormatSamples.sample( DateTimeFormats.DateTimeParser.basicDateTimeNoMillisSpaceZZZ );
+
+    try
+      {
+      parser.parseOrFail( sample ).getResult();
+      fail();
+      }
+    catch( DateTimeFormatParseException exception )
+      {
+      assertEquals( 0, exception.getStackTrace().length );
+      assertEquals( sample, exception.getValue() );
+      assertEquals( DateTimeFormats.DateTimeParser.basicDateTimeNoMillisSpaceZZZ, exception.getFormat() );
+      assertTrue( exception.getMessage().startsWith( "could not parse: " + sample ) );
+      }
+
+    try
+      {
+      new AbsoluteDateTimeParser( context ).parseOrFail( sample ).getResult();
+      fail();
+      }
+    catch( DateTimeFormatParseException exception )
+      {
+      assertTrue( exception.getStackTrace().length > 0 );
+      }
+    }
+
+  @Test
+  public void stacklessConversions()
+    {
+    Context stackless = new Context( now.clock() );
+
+    stackless.setStacklessExceptions( true );
+
+    AbsoluteDateTimeParser stacklessParser = new AbsoluteDateTimeParser( stackless );
+    AbsoluteDateTimeParser parser = new AbsoluteDateTimeParser( context );
+
+    List<String> samples = new ArrayList<>( Arrays.asList( "2015-13-45", "2015-02-30", "2015-02-10T24:00:00Z" ) );
+
+    for( DateTimeFormats.DateTimeParser format : DateTimeFormats.DateTimeParser.values() )
+      samples.add( FormatSamples.sample( format ) );
+
+    for( String sample : samples )
+      {
+      TemporalResult<DateTimeExp, Instant> expected = parser.parse( sample );
+      TemporalResult<DateTimeExp, Instant> result = stacklessParser.parse( sample );
+
+      assertEquals( sample, expected.getStatus(), result.getStatus() );
+
+      if( expected.getStatus() == ParseStatus.OK )
+        assertEquals( sample, expected.getResult(), result.getResult() );
+      }
+
+    try
+      {
+      stacklessParser.parse( "2015-13-45" ).getResult();
+      fail();
+      }
+    catch( DateTimeFormatParseException exception )
+      {
+      assertEquals( 0, exception.getStackTrace().length );
+      }
+    }
+  }
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.api;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.DurationParser;
+import heretical.parser.temporal.management.TemporalParserMonitor;
+import heretical.parser.temporal.util.FixedClockRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ */
+public class TemporalParserMonitorTest
+  {
+  @Rule
+  public FixedClockRule now = new FixedClockRule( "2015-02-10T02:04:30Z" );
+
+  private Context context = new Context( now.clock() );
+
+  @Test
+  public void monitor() throws JMException
+    {
+    AbsoluteDateTimeParser parser = new AbsoluteDateTimeParser( context );
+    TemporalParserMonitor monitor = new TemporalParserMonitor( parser, 2 );
+
+    assertEquals( -1, monitor.getGrammarBuildNanos() );
+
+    parser.parse( "2015-02-10T02:04:30+00:00" ).getResult();
+    parser.parse( "2015-02-10T02:04:30+00:00" ).getResult();
+    parser.parse( "20150210" ).getResult();
+    parser.parse( "1423533870345" ).getResult();
+    parser.parse( "N/A" );
+
+    assertEquals( 5, monitor.getParseCount() );
+    assertEquals( 1, monitor.getSyntaxErrorCount() );
+    assertEquals( 4, monitor.getConversionCount() );
+    assertEquals( 0, monitor.getConversionErrorCount() );
+    assertTrue( monitor.getGrammarBuildNanos() > 0 );
+    assertTrue( monitor.getMatchP50Nanos() > 0 );
+    assertTrue( monitor.getMatchP50Nanos() <= monitor.getMatchP999Nanos() );
+
+    Map<String, Long> top = monitor.getTopMatchedFormats();
+
+    assertEquals( 2, top.size() );
+    assertEquals( 2L, (long) top.get( "dateTimeNoMillis" ) );
+    assertEquals( "dateTimeNoMillis", top.keySet().iterator().next() );
+
+    monitor.reset();
+
+    assertEquals( 0, monitor.getParseCount() );
+    assertTrue( monitor.getTopMatchedFormats().isEmpty() );
+    }
+
+  @Test
+  public void register() throws JMException
+    {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    DurationParser parser = new DurationParser( context );
+    TemporalParserMonitor monitor = new TemporalParserMonitor( parser );
+
+    ObjectName name = monitor.register( "durations" );
+
+    try
+      {
+      parser.parse( "10 days" ).getResult();
+
+      assertEquals( DurationParser.class.getName(), server.getAttribute( name, "ParserClass" ) );
+      assertEquals( 1L, server.getAttribute( name, "ParseCount" ) );
+      assertTrue( ( (TabularData) server.getAttribute( name, "TopMatchedFormats" ) ).isEmpty() );
+      }
+    finally
+      {
+      monitor.unregister();
+      }
+
+    assertFalse( server.isRegistered( name ) );
+    }
+  }
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.api;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import heretical.parser.common.expression.Expression;
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.BaseTemporalExpressionParser;
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.DurationParser;
+import heretical.parser.temporal.NaturalDurationParser;
+import heretical.parser.temporal.ParseHolder;
+import heretical.parser.temporal.ParseListener;
+import heretical.parser.temporal.ParseStatus;
+import heretical.parser.temporal.RelativeDateTimeAdjusterParser;
+import heretical.parser.temporal.format.DateTimeFormats;
+import heretical.parser.temporal.util.FixedClockRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies tryParse returns the status of every outcome through its holder without throwing.
+ */
+public class TryParseTest
+  {
+  @Rule
+  public FixedClockRule now = new FixedClockRule( "2015-02-10T02:04:30Z" );
+
+  private Context context = new Context( now.clock() );
+
+  @Test
+  public void tryParse()
+    {
+    AbsoluteDateTimeParser parser = new AbsoluteDateTimeParser( context );
+    ParseHolder<Instant> holder = new ParseHolder<>();
+
+    parser.setFastFail( true );
+
+    assertEquals( ParseStatus.OK, parser.tryParse( "2015-02-10T02:04:30+00:00", holder ) );
+    assertEquals( Instant.parse( "2015-02-10T02:04:30Z" ), holder.getValue() );
+    assertEquals( DateTimeFormats.DateTimeParser.dateTimeNoMillis, holder.getFormat() );
+
+    assertEquals( ParseStatus.SYNTAX_ERROR, parser.tryParse( "2015-02-10T02:04:30 nope", holder ) );
+    assertNull( holder.getValue() );
+    assertNull( holder.getFormat() );
+
+    assertEquals( ParseStatus.CONVERSION_ERROR, parser.tryParse( "2015-13-45", holder ) );
+    assertEquals( ParseStatus.OK, parser.tryParse( "2015-02-10T02:04:30+00:00".getBytes( StandardCharsets.US_ASCII ), 0, 25, holder ) );
+
+    ParseHolder<Duration> duration = new ParseHolder<>();
+
+    assertEquals( ParseStatus.OK, new DurationParser( context ).tryParse( new StringBuilder( "10 days" ), duration ) );
+    assertEquals( Duration.ofDays( 10 ), duration.getValue() );
+    assertEquals( ParseStatus.UNSUPPORTED, new NaturalDurationParser( context ).tryParse( "1.5 months", duration ) );
+
+    ParseHolder<Instant> adjusted = new ParseHolder<>();
+
+    assertEquals( ParseStatus.SYNTAX_ERROR, new RelativeDateTimeAdjusterParser( context ).tryParse( "-99999999999999d", adjusted ) );
+    assertFalse( adjusted.isOk() );
+    }
+
+  @Test
+  public void tryParseStackless()
+    {
+    AbsoluteDateTimeParser parser = new AbsoluteDateTimeParser( context );
+    List<RuntimeException> failures = new ArrayList<>();
+
+    parser.setParseListener( new ParseListener()
+      {
+      @Override
+      public void onConversionError( BaseTemporalExpressionParser<?, ?, ?> parser, Expression expression, RuntimeException exception )
+        {
+        failures.add( exception );
+        }
+      } );
+
+    assertEquals( ParseStatus.CONVERSION_ERROR, parser.tryParse( "2015-13-45", new ParseHolder<>() ) );
+    assertEquals( ParseStatus.CONVERSION_ERROR, parser.parse( "2015-13-45" ).getStatus() );
+
+    assertEquals( 2, failures.size() );
+    assertEquals( 0, failures.get( 0 ).getStackTrace().length );
+    assertTrue( failures.get( 1 ).getStackTrace().length > 0 );
+    assertFalse( context.isStacklessExceptions() );
+    }
+  }
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.expression;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import heretical.parser.common.ParserSyntaxException;
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.DurationParser;
+import heretical.parser.temporal.ParseStatus;
+import heretical.parser.temporal.RelativeDateTimeAdjusterParser;
+import heretical.parser.temporal.TemporalResult;
+import heretical.parser.temporal.format.DateTimeFormats;
+import heretical.parser.temporal.util.FixedClockRule;
+import heretical.parser.temporal.util.FormatSamples;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Verifies the primitive epoch conversions of every expression equal their Instant and Duration conversions.
+ */
+public class EpochExpTest
+  {
+  @Rule
+  public FixedClockRule now = new FixedClockRule( "2015-02-10T02:04:30Z" );
+
+  private Context context = new Context( now.clock() );
+
+  @Test
+  public void epochPrimitives()
+    {
+    List<Clock> clocks = Arrays.asList(
+      now.clock(),
+      Clock.fixed( Instant.parse( "2016-02-29T23:59:58.123456789Z" ), ZoneOffset.ofHoursMinutes( 5, 30 ) ),
+      Clock.fixed( Instant.parse( "1969-12-31T23:59:59.999Z" ), ZoneOffset.ofHours( -8 ) ),
+      Clock.fixed( Instant.parse( "2015-03-08T06:30:00.5Z" ), ZoneId.of( "America/New_York" ) )
+    );
+
+    List<String> adjusters = Arrays.asList( "-120m@s", "-60m@s", "-1h@h", "-1d@d", "-7d@m", "@w0", "@w", "@d-2h", "-mon@mon+7d", "@mon", "@y", "+1y", "-13mon", "+10w", "@s", "@m", "@h" );
+
+    for( Clock clock : clocks )
+      {
+      Context context = new Context( clock, now.getLocale() );
+
+      RelativeDateTimeAdjusterParser adjuster = new RelativeDateTimeAdjusterParser( context );
+
+      for( String expression : adjusters )
+        {
+        Instant expected = adjuster.parseOrFail( expression ).getResult();
+
+        assertEquals( expression + " @ " + clock, expected.toEpochMilli(), adjuster.parseToEpochMillis( expression ) );
+        assertEquals( expression + " @ " + clock, expected.getEpochSecond() * 1_000_000_000L + expected.getNano(), adjuster.parseToEpochNanos( expression ) );
+        }
+
+      AbsoluteDateTimeParser absolute = new AbsoluteDateTimeParser( context );
+
+      for( DateTimeFormats.DateTimeParser format : DateTimeFormats.DateTimeParser.values() )
+        {
+        String sample = FormatSamples.sample( format );
+        TemporalResult<DateTimeExp, Instant> result = absolute.parse( sample );
+
+        if( !result.matched() || result.getStatus() != ParseStatus.OK )
+          continue;
+
+        assertEquals( sample + " @ " + clock, result.getResult().toEpochMilli(), absolute.parseToEpochMillis( sample ) );
+        assertEquals( sample + " @ " + clock, result.getResult().toEpochMilli() * 1_000_000L, absolute.parseToEpochNanos( sample ) );
+        }
+      }
+
+    DurationParser duration = new DurationParser( context );
+
+    for( String expression : Arrays.asList( "1 min", "PT20.345S", "10 days", "2 hours", "3 weeks", "250ms" ) )
+      assertEquals( expression, duration.parseOrFail( expression ).getResult().toNanos(), duration.parseToNanos( expression ) );
+
+    try
+      {
+      duration.parseToNanos( "10 nope" );
+      fail();
+      }
+    catch( ParserSyntaxException exception )
+      {
+      // expected
+      }
+    }
+
+  @Test
+  public void epochCalendar()
+    {
+    for( long epochDay = -800_000; epochDay <= 800_000; epochDay += 97 )
+      {
+      LocalDate expected = LocalDate.ofEpochDay( epochDay );
+      long date = EpochCalendar.toDate( epochDay );
+
+      assertEquals( expected.getYear(), EpochCalendar.year( date ) );
+      assertEquals( expected.getMonthValue(), EpochCalendar.month( date ) );
+      assertEquals( expected.getDayOfMonth(), EpochCalendar.day( date ) );
+      assertEquals( epochDay, EpochCalendar.toEpochDay( date ) );
+      assertEquals( expected.lengthOfMonth(), EpochCalendar.lengthOfMonth( expected.getYear(), expected.getMonthValue() ) );
+
+      for( long months : new long[]{ -25, -1, 1, 13 } )
+        assertEquals( expected + " " + months, expected.plusMonths( months ).toEpochDay(), EpochCalendar.toEpochDay( EpochCalendar.plusMonths( date, months ) ) );
+      }
+    }
+  }
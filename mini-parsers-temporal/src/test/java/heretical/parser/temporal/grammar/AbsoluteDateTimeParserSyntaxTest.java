@@ -8,6 +8,8 @@
 
 package heretical.parser.temporal.grammar;
 
+import java.util.Set;
+
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -19,9 +21,9 @@ import static java.lang.String.format;
  */
 public class AbsoluteDateTimeParserSyntaxTest extends DateTimeParserSyntaxTestCase
   {
-  public AbsoluteDateTimeParserSyntaxTest()
+  public AbsoluteDateTimeParserSyntaxTest( Class<? extends DateTimeGrammar> grammarClass, Set<DateTimeGrammarOption> options )
     {
-    super( false );
+    super( false, grammarClass, options );
     }
 
   @Ignore
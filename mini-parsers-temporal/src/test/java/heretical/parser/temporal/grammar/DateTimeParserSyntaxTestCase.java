@@ -8,9 +8,16 @@
 
 package heretical.parser.temporal.grammar;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
 import heretical.parser.common.ParserTestCase;
 import heretical.parser.temporal.Context;
 import heretical.parser.temporal.expression.DateTimeExp;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
 import org.parboiled.Rule;
 import org.parboiled.support.ParsingResult;
 
@@ -19,11 +26,34 @@ import static org.junit.Assert.assertEquals;
 /**
  *
  */
+@RunWith(Parameterized.class)
 public class DateTimeParserSyntaxTestCase extends ParserTestCase<DateTimeExp, DateTimeGrammar>
   {
-  public DateTimeParserSyntaxTestCase( boolean useTracingRunning )
+  /**
+   * Every suite runs against the default grammar and its lean variant, each with and without packrat formats.
+   */
+  @Parameterized.Parameters(name = "{0} {1}")
+  public static Collection<Object[]> grammars()
+    {
+    Set<DateTimeGrammarOption> none = EnumSet.noneOf( DateTimeGrammarOption.class );
+    Set<DateTimeGrammarOption> packrat = EnumSet.of( DateTimeGrammarOption.packrat );
+
+    return Arrays.asList( new Object[][]{
+      {DateTimeGrammar.class, none},
+      {LeanDateTimeGrammar.class, none},
+      {DateTimeGrammar.class, packrat},
+      {LeanDateTimeGrammar.class, packrat}
+    } );
+    }
+
+  private final Class<? extends DateTimeGrammar> grammarClass;
+  private final Set<DateTimeGrammarOption> options;
+
+  public DateTimeParserSyntaxTestCase( boolean useTracingRunning, Class<? extends DateTimeGrammar> grammarClass, Set<DateTimeGrammarOption> options )
     {
     super( useTracingRunning );
+    this.grammarClass = grammarClass;
+    this.options = options;
     }
 
   protected void assertParse( Long expectedMillis, String dateTime )
@@ -39,9 +69,15 @@ public class DateTimeParserSyntaxTestCase extends ParserTestCase<DateTimeExp, Da
     }
 
   @Override
-  protected Class<DateTimeGrammar> getParserGrammarClass()
+  protected Class<? extends DateTimeGrammar> getParserGrammarClass()
+    {
+    return grammarClass;
+    }
+
+  @Override
+  protected Object[] getParserGrammarArguments()
     {
-    return DateTimeGrammar.class;
+    return new Object[]{options};
     }
 
   @Override
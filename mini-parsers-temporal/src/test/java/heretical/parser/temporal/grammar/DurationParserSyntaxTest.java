@@ -21,9 +21,9 @@ import static java.time.Duration.ZERO;
  */
 public class DurationParserSyntaxTest extends DurationParserSyntaxTestCase
   {
-  public DurationParserSyntaxTest()
+  public DurationParserSyntaxTest( Class<? extends DurationGrammar> grammarClass )
     {
-    super( false );
+    super( false, grammarClass );
     }
 
   @Ignore
@@ -9,10 +9,14 @@
 package heretical.parser.temporal.grammar;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
 
 import heretical.parser.common.ParserTestCase;
 import heretical.parser.temporal.Context;
 import heretical.parser.temporal.expression.DurationExp;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
 import org.parboiled.Rule;
 import org.parboiled.support.ParsingResult;
 
@@ -21,11 +25,24 @@ import static org.junit.Assert.assertEquals;
 /**
  *
  */
+@RunWith(Parameterized.class)
 public class DurationParserSyntaxTestCase extends ParserTestCase<DurationExp, DurationGrammar>
   {
-  public DurationParserSyntaxTestCase( boolean useTracingRunning )
+  /**
+   * Every suite runs against the default grammar and its lean variant.
+   */
+  @Parameterized.Parameters(name = "{0}")
+  public static Collection<Object[]> grammars()
+    {
+    return Arrays.asList( new Object[][]{{DurationGrammar.class}, {LeanDurationGrammar.class}} );
+    }
+
+  private final Class<? extends DurationGrammar> grammarClass;
+
+  public DurationParserSyntaxTestCase( boolean useTracingRunning, Class<? extends DurationGrammar> grammarClass )
     {
     super( useTracingRunning );
+    this.grammarClass = grammarClass;
     }
 
   protected void assertParse( Duration expectedDuration, String duration )
@@ -41,9 +58,9 @@ public class DurationParserSyntaxTestCase extends ParserTestCase<DurationExp, Du
     }
 
   @Override
-  protected Class<DurationGrammar> getParserGrammarClass()
+  protected Class<? extends DurationGrammar> getParserGrammarClass()
     {
-    return DurationGrammar.class;
+    return grammarClass;
     }
 
   @Override
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.grammar;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.DurationParser;
+import heretical.parser.temporal.GrammarRegistry;
+import heretical.parser.temporal.ParseStatus;
+import heretical.parser.temporal.RelativeDateTimeAdjusterParser;
+import heretical.parser.temporal.TemporalResult;
+import heretical.parser.temporal.expression.DateTimeExp;
+import heretical.parser.temporal.format.DateTimeFormats;
+import heretical.parser.temporal.util.FixedClockRule;
+import heretical.parser.temporal.util.FormatSamples;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies the lean grammars parse the same values as the default grammars, without comments.
+ */
+public class LeanGrammarTest
+  {
+  @Rule
+  public FixedClockRule now = new FixedClockRule( "2015-02-10T02:04:30Z" );
+
+  private Context context = new Context( now.clock() );
+
+  @Test
+  public void leanGrammar()
+    {
+    AbsoluteDateTimeParser absolute = new AbsoluteDateTimeParser( context );
+    AbsoluteDateTimeParser leanAbsolute = new AbsoluteDateTimeParser( context );
+
+    leanAbsolute.setLeanGrammar( true );
+
+    for( DateTimeFormats.DateTimeParser format : DateTimeFormats.DateTimeParser.values() )
+      {
+      String sample = FormatSamples.sample( format );
+      TemporalResult<DateTimeExp, Instant> expected = absolute.parse( sample );
+      TemporalResult<DateTimeExp, Instant> result = leanAbsolute.parse( sample );
+
+      assertEquals( sample, expected.matched(), result.matched() );
+      assertEquals( sample, expected.getStatus(), result.getStatus() );
+
+      if( expected.getStatus() == ParseStatus.OK )
+        assertEquals( sample, expected.getResult(), result.getResult() );
+      }
+
+    assertTrue( GrammarRegistry.getInstance().contains( AbsoluteDateTimeParser.class, LeanDateTimeGrammar.class ) );
+
+    // only the default grammar allows comments
+    assertTrue( absolute.parse( "20150210 /* batch */" ).matched() );
+    assertFalse( leanAbsolute.parse( "20150210 /* batch */" ).matched() );
+    assertTrue( leanAbsolute.parse( "20150210 " ).matched() );
+
+    DurationParser duration = new DurationParser( context );
+
+    duration.setLeanGrammar( true );
+
+    assertEquals( Duration.ofDays( 10 ), duration.parseOrFail( "10 days " ).getResult() );
+    assertEquals( Duration.parse( "PT20.345S" ), duration.parseOrFail( "PT20.345S" ).getResult() );
+
+    RelativeDateTimeAdjusterParser adjuster = new RelativeDateTimeAdjusterParser( context );
+    RelativeDateTimeAdjusterParser leanAdjuster = new RelativeDateTimeAdjusterParser( context );
+
+    leanAdjuster.setLeanGrammar( true );
+
+    for( String expression : Arrays.asList( "-120m@s", "@d-2h", "-mon@mon+7d", "now", "-1d " ) )
+      assertEquals( expression, adjuster.parseOrFail( expression ).getResult(), leanAdjuster.parseOrFail( expression ).getResult() );
+
+    leanAdjuster.setLeanGrammar( false );
+
+    assertEquals( adjuster.parseOrFail( "@w" ).getResult(), leanAdjuster.parseOrFail( "@w" ).getResult() );
+    }
+  }
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.grammar;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import heretical.parser.temporal.AbsoluteDateTimeParser;
+import heretical.parser.temporal.Context;
+import heretical.parser.temporal.GrammarRegistry;
+import heretical.parser.temporal.ParseStatus;
+import heretical.parser.temporal.TemporalResult;
+import heretical.parser.temporal.expression.DateTimeExp;
+import heretical.parser.temporal.format.DateTimeFormats;
+import heretical.parser.temporal.util.FixedClockRule;
+import heretical.parser.temporal.util.FormatSamples;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies packrat formats parse every format sample the same as the default formats.
+ */
+public class PackratFormatsTest
+  {
+  @Rule
+  public FixedClockRule now = new FixedClockRule( "2015-02-10T02:04:30Z" );
+
+  private Context context = new Context( now.clock() );
+
+  @Test
+  public void packratFormats()
+    {
+    AbsoluteDateTimeParser absolute = new AbsoluteDateTimeParser( context );
+    AbsoluteDateTimeParser packrat = new AbsoluteDateTimeParser( context );
+
+    packrat.setPackratFormats( true );
+
+    List<String> samples = new ArrayList<>();
+
+    for( DateTimeFormats.DateTimeParser format : DateTimeFormats.DateTimeParser.values() )
+      samples.add( FormatSamples.sample( format ) );
+
+    samples.addAll( Arrays.asList( "2015-02-10T02:04:30.345+0X", "February 30th 2015", "10/02/2015 25:04", "2015-02-10 /* batch */", "" ) );
+
+    for( String sample : samples )
+      {
+      TemporalResult<DateTimeExp, Instant> expected = absolute.parse( sample );
+      TemporalResult<DateTimeExp, Instant> result = packrat.parse( sample );
+
+      assertEquals( sample, expected.getStatus(), result.getStatus() );
+      assertEquals( sample, expected.getErrorMessages(), result.getErrorMessages() );
+
+      if( expected.getStatus() == ParseStatus.OK )
+        assertEquals( sample, expected.getResult(), result.getResult() );
+      }
+
+    Set<DateTimeGrammarOption> options = EnumSet.of( DateTimeGrammarOption.packrat );
+
+    assertTrue( GrammarRegistry.getInstance().contains( AbsoluteDateTimeParser.class, DateTimeGrammar.class, options ) );
+
+    packrat.setLeanGrammar( true );
+
+    assertEquals( absolute.parseOrFail( "2015-02-10T02:04:30.345Z " ).getResult(), packrat.parseOrFail( "2015-02-10T02:04:30.345Z " ).getResult() );
+    assertTrue( GrammarRegistry.getInstance().contains( AbsoluteDateTimeParser.class, LeanDateTimeGrammar.class, options ) );
+    }
+  }
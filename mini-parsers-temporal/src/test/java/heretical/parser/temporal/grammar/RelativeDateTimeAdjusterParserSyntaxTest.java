@@ -19,9 +19,9 @@ import static java.time.temporal.ChronoField.*;
 
 public class RelativeDateTimeAdjusterParserSyntaxTest extends RelativeDateTimeAdjusterParserSyntaxTestCase
   {
-  public RelativeDateTimeAdjusterParserSyntaxTest()
+  public RelativeDateTimeAdjusterParserSyntaxTest( Class<? extends DateTimeAdjusterGrammar> grammarClass )
     {
-    super( false, "2011-12-03T10:15:30.300Z" );
+    super( false, "2011-12-03T10:15:30.300Z", grammarClass );
     }
 
   @Ignore
@@ -9,6 +9,8 @@
 package heretical.parser.temporal.grammar;
 
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
 
 import heretical.parser.common.ParserTestCase;
 import heretical.parser.temporal.Context;
@@ -16,23 +18,38 @@ import heretical.parser.temporal.expression.AdjusterExp;
 import heretical.parser.temporal.util.FixedClockRule;
 import org.junit.Assert;
 import org.junit.Rule;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
 import org.parboiled.support.ParsingResult;
 
+@RunWith(Parameterized.class)
 public class RelativeDateTimeAdjusterParserSyntaxTestCase extends ParserTestCase<AdjusterExp, DateTimeAdjusterGrammar>
   {
+  /**
+   * Every suite runs against the default grammar and its lean variant.
+   */
+  @Parameterized.Parameters(name = "{0}")
+  public static Collection<Object[]> grammars()
+    {
+    return Arrays.asList( new Object[][]{{DateTimeAdjusterGrammar.class}, {LeanDateTimeAdjusterGrammar.class}} );
+    }
+
   @Rule
   public FixedClockRule now = new FixedClockRule();
 
-  public RelativeDateTimeAdjusterParserSyntaxTestCase( boolean useTracingRunning, String now )
+  private final Class<? extends DateTimeAdjusterGrammar> grammarClass;
+
+  public RelativeDateTimeAdjusterParserSyntaxTestCase( boolean useTracingRunning, String now, Class<? extends DateTimeAdjusterGrammar> grammarClass )
     {
     super( useTracingRunning );
     this.now.setNow( now );
+    this.grammarClass = grammarClass;
     }
 
   @Override
-  protected Class<DateTimeAdjusterGrammar> getParserGrammarClass()
+  protected Class<? extends DateTimeAdjusterGrammar> getParserGrammarClass()
     {
-    return DateTimeAdjusterGrammar.class;
+    return grammarClass;
     }
 
   @Override
@@ -19,9 +19,9 @@ import static heretical.parser.temporal.util.FixedClockRule.toInstant;
  */
 public class RelativeDateTimeAdjusterRelativeAndRelativeSnapParseTest extends RelativeDateTimeAdjusterParserSyntaxTestCase
   {
-  public RelativeDateTimeAdjusterRelativeAndRelativeSnapParseTest()
+  public RelativeDateTimeAdjusterRelativeAndRelativeSnapParseTest( Class<? extends DateTimeAdjusterGrammar> grammarClass )
     {
-    super( false, "2022-04-28T14:05:00Z" );
+    super( false, "2022-04-28T14:05:00Z", grammarClass );
     }
 
   @Test
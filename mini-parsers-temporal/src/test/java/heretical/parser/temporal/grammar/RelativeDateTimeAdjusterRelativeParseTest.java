@@ -20,9 +20,9 @@ import static heretical.parser.temporal.util.FixedClockRule.toInstant;
  */
 public class RelativeDateTimeAdjusterRelativeParseTest extends RelativeDateTimeAdjusterParserSyntaxTestCase
   {
-  public RelativeDateTimeAdjusterRelativeParseTest()
+  public RelativeDateTimeAdjusterRelativeParseTest( Class<? extends DateTimeAdjusterGrammar> grammarClass )
     {
-    super( false, "2022-02-09T13:37:05Z" );
+    super( false, "2022-02-09T13:37:05Z", grammarClass );
     }
 
   @Test
@@ -8,6 +8,8 @@
 
 package heretical.parser.temporal.grammar;
 
+import java.util.Set;
+
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -19,9 +21,9 @@ import static heretical.parser.temporal.grammar.TestDateTimeUtil.*;
 @Ignore
 public class RelaxedDateTimeParserSyntaxTest extends DateTimeParserSyntaxTestCase
   {
-  public RelaxedDateTimeParserSyntaxTest()
+  public RelaxedDateTimeParserSyntaxTest( Class<? extends DateTimeGrammar> grammarClass, Set<DateTimeGrammarOption> options )
     {
-    super( false );
+    super( false, grammarClass, options );
     }
 
   /**
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.util;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Measures the bytes allocated by the current thread, averaged over many calls after a warmup
+ * so the JIT has had a chance to eliminate what it can.
+ */
+public class AllocationMeter
+  {
+  private static final java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+  public static boolean isSupported()
+    {
+    return threadMXBean instanceof ThreadMXBean && ( (ThreadMXBean) threadMXBean ).isThreadAllocatedMemorySupported();
+    }
+
+  public static long bytesPerCall( int warmup, int iterations, Runnable runnable )
+    {
+    ThreadMXBean bean = (ThreadMXBean) threadMXBean;
+
+    if( !bean.isThreadAllocatedMemoryEnabled() )
+      bean.setThreadAllocatedMemoryEnabled( true );
+
+    for( int i = 0; i < warmup; i++ )
+      runnable.run();
+
+    long threadId = Thread.currentThread().getId();
+    long start = bean.getThreadAllocatedBytes( threadId );
+
+    for( int i = 0; i < iterations; i++ )
+      runnable.run();
+
+    return ( bean.getThreadAllocatedBytes( threadId ) - start ) / iterations;
+    }
+  }
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2018-2023 Chris K Wensel <chris@wensel.net>. All Rights Reserved.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package heretical.parser.temporal.util;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import heretical.parser.temporal.format.DateTimeFormats;
+
+/**
+ * Renders a sample value for every {@link DateTimeFormats.DateTimeParser} from its pattern so new formats
+ * are covered by the allocation tests and benchmarks without maintaining a separate table.
+ * <p>
+ * All samples represent 2015-02-10T02:04:30.345Z, note some formats are shadowed by longer formats in the grammar
+ * so the sample may be matched by a different format than the one it was rendered from.
+ */
+public class FormatSamples
+  {
+  // longest symbols first so a greedy scan picks the widest match
+  private static final String[][] SUBSTITUTIONS = {
+    {"SSSSSSSSSSSSS", "1423533870345"},
+    {"'T'", "T"},
+    {"yyyy", "2015"},
+    {"yy", "15"},
+    {"MMMM", "February"},
+    {"MMM", "Feb"},
+    {"MM", "02"},
+    {"do", "10th"},
+    {"dd", "10"},
+    {"HH", "02"},
+    {"hh", "02"},
+    {"mm", "04"},
+    {"ss", "30"},
+    {"SSS", "345"},
+    {"ZZZ", "+00:00"},
+    {"ZZ", "+0000"},
+    {"Z", "+0000"},
+    {"X", "Z"},
+    {"a", "AM"}
+  };
+
+  private static final Map<DateTimeFormats.DateTimeParser, String> samples = new EnumMap<>( DateTimeFormats.DateTimeParser.class );
+
+  static
+    {
+    for( DateTimeFormats.DateTimeParser parser : DateTimeFormats.DateTimeParser.values() )
+      samples.put( parser, render( parser.getPattern() ) );
+    }
+
+  public static String sample( DateTimeFormats.DateTimeParser parser )
+    {
+    return samples.get( parser );
+    }
+
+  static String render( String pattern )
+    {
+    StringBuilder builder = new StringBuilder();
+    int index = 0;
+
+    next:
+    while( index < pattern.length() )
+      {
+      for( String[] substitution : SUBSTITUTIONS )
+        {
+        if( pattern.startsWith( substitution[ 0 ], index ) )
+          {
+          builder.append( substitution[ 1 ] );
+          index += substitution[ 0 ].length();
+          continue next;
+          }
+        }
+
+      builder.append( pattern.charAt( index++ ) );
+      }
+
+    return builder.toString();
+    }
+  }